@@ -0,0 +1,73 @@
+package com.ats.benchmark;
+
+import com.ats.dto.ApplicationDto;
+import com.ats.model.Application.ApplicationStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of application listings: a default page, the largest
+ * page allowed and the size of the old unpaginated responses. {@code toBytes}
+ * is what an in-memory body costs; {@code toStream} is the streaming write
+ * with no intermediate buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({ "50", "200", "10000" })
+    private int items;
+
+    private JsonMapper jsonMapper;
+    private List<ApplicationDto> applications;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        applications = new ArrayList<>(items);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < items; i++) {
+            applications.add(ApplicationDto.builder()
+                    .id(100_000L + i)
+                    .candidateName("Candidate Number " + i)
+                    .candidateEmail("candidate." + i + "@mail.example")
+                    .resumeOriginalName("Candidate_" + i + "_CV.pdf")
+                    .resumeDownloadUrl("/api/files/download/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.pdf")
+                    .status(ApplicationStatus.values()[i % ApplicationStatus.values().length])
+                    .submittedAt(now.minusMinutes(i))
+                    .jobId(1L + i % 40)
+                    .jobTitle("Senior Backend Engineer - Payments")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return jsonMapper.writeValueAsBytes(applications);
+    }
+
+    @Benchmark
+    public void toStream() {
+        jsonMapper.writeValue(OutputStream.nullOutputStream(), applications);
+    }
+}
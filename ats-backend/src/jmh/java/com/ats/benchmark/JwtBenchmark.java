@@ -0,0 +1,91 @@
+package com.ats.benchmark;
+
+import com.ats.model.User;
+import com.ats.security.JwtUtil;
+import com.ats.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens per second for the request-path JWT work. {@code legacyFilterPath}
+ * reproduces what the filter used to do per request (derive the key, build a
+ * parser and verify the same token three times); the other benchmarks cover
+ * the single-parse and cached paths. Run with {@code -prof gc} (the profile
+ * default) for allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890123456789012345678901234";
+    private static final long EXPIRATION = 86_400_000L;
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = new JwtUtil(SECRET, EXPIRATION, 10_000);
+        uncachedJwtUtil = new JwtUtil(SECRET, EXPIRATION, 0);
+        user = User.builder()
+                .id(42L)
+                .email("recruiter@company.com")
+                .fullName("Bench Recruiter")
+                .build();
+        token = cachingJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return uncachedJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = legacyClaims(token).getSubject();
+        // validateToken: extractUsername again, then isTokenExpired
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken verifyOnce() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachingJwtUtil.verify(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
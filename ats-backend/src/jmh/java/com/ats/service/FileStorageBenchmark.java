@@ -0,0 +1,89 @@
+package com.ats.service;
+
+import com.ats.storage.LocalResumeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Resume upload cost by file size. {@code storeNew} writes bytes the store
+ * has not seen (hash, temp file, move into the shard) and deletes the blob
+ * again so the disk does not fill; {@code storeDuplicate} re-uploads the same
+ * bytes and measures the deduplicated path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStorageBenchmark {
+
+    @Param({ "16384", "262144", "4194304" })
+    private int size;
+
+    private Path uploadDir;
+    private FileStorageService fileStorageService;
+    private byte[] content;
+    private long counter;
+
+    @Setup
+    public void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("ats-storage-bench");
+        LocalResumeStore store = new LocalResumeStore();
+        Field field = LocalResumeStore.class.getDeclaredField("uploadDir");
+        field.setAccessible(true);
+        field.set(store, uploadDir.toString());
+        store.init();
+        fileStorageService = new FileStorageService(null, store);
+        fileStorageService.init();
+
+        content = new byte[size];
+        new SplittableRandom(size).nextBytes(content);
+        fileStorageService.storeFile(new ByteArrayInputStream(content), "resume.pdf");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(uploadDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String storeNew() {
+        byte[] unique = content.clone();
+        long stamp = ++counter;
+        for (int i = 0; i < Long.BYTES; i++) {
+            unique[i] = (byte) (stamp >>> (8 * i));
+        }
+        String name = fileStorageService.storeFile(new ByteArrayInputStream(unique), "resume.pdf");
+        fileStorageService.confirm(name);
+        fileStorageService.deleteFile(name);
+        return name;
+    }
+
+    @Benchmark
+    public String storeDuplicate() {
+        return fileStorageService.storeFile(new ByteArrayInputStream(content), "resume.pdf");
+    }
+}
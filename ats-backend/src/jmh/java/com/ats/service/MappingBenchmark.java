@@ -0,0 +1,120 @@
+package com.ats.service;
+
+import com.ats.dto.JobDto;
+import com.ats.model.Application;
+import com.ats.model.Application.ApplicationStatus;
+import com.ats.model.Job;
+import com.ats.model.User;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.JobRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Entity to DTO mapping through the public service calls that still map
+ * entities: one job by id, a default-size page of active jobs, and a page of
+ * applications exported as CSV. The repositories are in-memory stubs that
+ * hand back prebuilt entities, so the time is the service call and its
+ * mapping, not a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ApplicationService applicationService;
+    private JobService jobService;
+    private Long jobId;
+
+    @Setup
+    public void setUp() {
+        User recruiter = User.builder().id(7L).fullName("Bench Recruiter").email("bench@company.com").build();
+        List<Job> jobs = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            jobs.add(Job.builder()
+                    .id(11L + i)
+                    .title("Senior Backend Engineer - Payments " + i)
+                    .description("The Payments team is hiring.\n\nRequirements:\n- 5+ years of experience")
+                    .active(true)
+                    .createdAt(LocalDateTime.now().minusDays(3).plusMinutes(i))
+                    .applicationCount(420L + i)
+                    .createdBy(recruiter)
+                    .build());
+        }
+        Job job = jobs.get(0);
+        List<Application> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(Application.builder()
+                    .id(1_001L + i)
+                    .candidateName("Candidate " + i)
+                    .candidateEmail("candidate" + i + "@mail.example")
+                    .resumePath("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.pdf")
+                    .resumeOriginalName("Candidate_" + i + "_CV.pdf")
+                    .status(ApplicationStatus.SHORTLISTED)
+                    .submittedAt(LocalDateTime.now().minusHours(1).plusMinutes(i))
+                    .job(jobs.get(i))
+                    .build());
+        }
+        jobId = job.getId();
+
+        ApplicationRepository applications = stub(ApplicationRepository.class,
+                Map.of("streamByFilters", (Supplier<Object>) page::stream));
+        JobRepository jobRepository = stub(JobRepository.class,
+                Map.of("findById", Optional.of(job), "findByActiveTrueOrderByCreatedAtDesc", jobs));
+        applicationService = new ApplicationService(applications, jobRepository, null, null, null, null, null, null,
+                null);
+        jobService = new JobService(jobRepository, null);
+    }
+
+    @Benchmark
+    public long applicationsCsvPage() throws IOException {
+        return applicationService.exportApplications(null, null, DataFormat.CSV, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public JobDto jobById() {
+        return jobService.getJobById(jobId);
+    }
+
+    @Benchmark
+    public List<JobDto> activeJobsPage() {
+        return jobService.getAllActiveJobs();
+    }
+
+    // Answers the named repository methods with fixed results (a supplier is asked afresh on every call, for
+    // results like streams that can only be used once); anything else is a benchmark bug
+    private static <T> T stub(Class<T> repository, Map<String, Object> results) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] { repository },
+                (proxy, method, args) -> {
+                    if (!results.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object result = results.get(method.getName());
+                    return result instanceof Supplier<?> supplier ? supplier.get() : result;
+                }));
+    }
+}
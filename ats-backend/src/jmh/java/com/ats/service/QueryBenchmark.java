@@ -0,0 +1,124 @@
+package com.ats.service;
+
+import com.ats.AtsApplication;
+import com.ats.dto.ApplicationDto;
+import com.ats.dto.CursorPage;
+import com.ats.model.Application.ApplicationStatus;
+import com.ats.repository.ApplicationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing and search latency against an embedded database (H2 in PostgreSQL
+ * mode) filled by {@link SyntheticDataGenerator}. Each trial boots the
+ * application once and seeds {@code rows} applications, so expect a minute
+ * of setup per parameter set at 1M rows.
+ *
+ * {@code searchIndexed} is the trigram index path that serves recruiter
+ * search today; {@code searchLike} runs the {@code LIKE '%q%'} query it
+ * replaced, for comparison. Calls run inside a read-only transaction the
+ * way open-session-in-view wraps them in the app.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class QueryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int APPLICATIONS_PER_JOB = 500;
+
+    @Param({ "100000", "1000000" })
+    private int rows;
+
+    @Param({ "smith", "olga.kim" })
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationService applicationService;
+    private ApplicationRepository applicationRepository;
+    private TransactionTemplate readOnly;
+    private Long busiestJobId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(AtsApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.devtools.restart.enabled=false",
+                "--server.port=0",
+                "--file.upload-dir=" + Files.createTempDirectory("ats-query-bench"),
+                "--logging.level.root=WARN");
+
+        int jobs = Math.max(1, rows / APPLICATIONS_PER_JOB);
+        context.getBean(SyntheticDataGenerator.class)
+                .generate(20, jobs, APPLICATIONS_PER_JOB, 42L, 0, Runtime.getRuntime().availableProcessors());
+        context.getBean(JobCounterReconciler.class).reconcile();
+        context.getBean(CandidateSearchIndex.class).rebuild();
+
+        applicationService = context.getBean(ApplicationService.class);
+        applicationRepository = context.getBean(ApplicationRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        busiestJobId = context.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT id FROM jobs ORDER BY application_count DESC, id LIMIT 1", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public CursorPage<ApplicationDto> filterAll() {
+        return readOnly.execute(status -> applicationService.getApplicationsByFilters(null, null, null, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public CursorPage<ApplicationDto> filterByJobAndStatus() {
+        return readOnly.execute(status -> applicationService.getApplicationsByFilters(busiestJobId,
+                ApplicationStatus.NEW, null, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public CursorPage<ApplicationDto> searchIndexed() {
+        return readOnly.execute(status -> applicationService.searchApplications(query, null, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<ApplicationDto> searchLike() {
+        return readOnly.execute(status -> applicationRepository.searchFirstPageByNameOrEmail(query,
+                Limit.of(PAGE_SIZE + 1)));
+    }
+}
@@ -0,0 +1,86 @@
+package com.ats.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency samples for one endpoint of the load mix. Every measured request is
+ * kept (a run is minutes, not hours), so percentiles are exact rather than
+ * bucketed.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private long[] samples = new long[4096];
+    private int count;
+    private long errors;
+    private long bytes;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    synchronized void record(long nanos, long responseBytes, boolean ok) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        bytes += responseBytes;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    synchronized void reset() {
+        count = 0;
+        errors = 0;
+        bytes = 0;
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Summary over {@code elapsedNanos} of measurement: request and error
+     * counts, throughput, and p50/p95/p99/max latency in milliseconds.
+     */
+    synchronized Map<String, Object> summarize(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", round(count / seconds));
+        summary.put("p50Millis", millis(percentile(sorted, 0.50)));
+        summary.put("p95Millis", millis(percentile(sorted, 0.95)));
+        summary.put("p99Millis", millis(percentile(sorted, 0.99)));
+        summary.put("maxMillis", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        summary.put("megabytesPerSecond", round(bytes / seconds / (1024 * 1024)));
+        return summary;
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
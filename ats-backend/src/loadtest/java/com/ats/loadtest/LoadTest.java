@@ -0,0 +1,517 @@
+package com.ats.loadtest;
+
+import com.ats.AtsApplication;
+import com.ats.model.Application.ApplicationStatus;
+import com.ats.storage.InProcessS3;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load generator. Boots the whole application on a random port
+ * against an in-memory H2 database in PostgreSQL mode, seeds it through the
+ * synthetic data generator and drives a weighted mix of public and recruiter
+ * traffic from closed-loop virtual-thread clients. After the warmup, every
+ * request is timed; the run ends with p50/p95/p99 latency, throughput and
+ * Hibernate statements per request for each endpoint, printed and written as
+ * JSON.
+ *
+ * <pre>
+ * mvn -Ploadtest verify -Dloadtest.args="--clients=64 --duration=PT2M --mix=jobs=50,apply=50"
+ * </pre>
+ *
+ * Arguments not listed in {@link #DEFAULTS} are passed to the application,
+ * e.g. {@code --intake.mode=async}. The {@code download} scenario fetches one
+ * large stored resume to measure file transfer throughput.
+ * {@code --store=s3} keeps resumes in an in-process S3 stand-in
+ * ({@link InProcessS3}) instead of a temp directory, so uploads and downloads
+ * go through the S3 client.
+ *
+ * Platform vs virtual threads at 1k concurrent uploads: run
+ * {@code --clients=1000 --mix=apply=1} once with
+ * {@code --spring.threads.virtual.enabled=false} and once with {@code =true}.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("users", "20");
+        DEFAULTS.put("jobs", "200");
+        DEFAULTS.put("applicationsPerJob", "250");
+        DEFAULTS.put("resumes", "100");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("clients", "32");
+        DEFAULTS.put("warmup", "PT15S");
+        DEFAULTS.put("duration", "PT60S");
+        DEFAULTS.put("mix", "jobs=30,job=15,apply=10,filter=15,search=10,stats=5,status=10,download=5");
+        DEFAULTS.put("resume-size", "65536");
+        DEFAULTS.put("large-file-size", "8388608");
+        DEFAULTS.put("report", "target/loadtest-report.json");
+        DEFAULTS.put("store", "local");
+    }
+
+    private static final String[] SEARCH_TERMS = {
+            "smith", "garcia", "maria", "john", "lee", "olga", "anderson", "wil", "martinez", "kim"
+    };
+
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+
+    private static final int ID_PAGES = 10;
+
+    private static final Pattern STATEMENTS_SAMPLE = Pattern.compile(
+            "^ats_request_statements_(sum|count)\\{method=\"([A-Z]+)\",uri=\"([^\"]+)\"} (\\S+)$",
+            Pattern.MULTILINE);
+
+    // The scrape endpoint is closed without one
+    private static final String SCRAPE_TOKEN = UUID.randomUUID().toString();
+
+    private final Map<String, String> options;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+    private final AtomicLong applicants = new AtomicLong();
+
+    private String baseUrl;
+    private String token;
+    private List<Long> jobIds;
+    private List<Long> applicationIds;
+    private String largeFileUrl;
+    private Scenario[] wheel;
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new EndpointStats(scenario.label));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        Map<String, String> applicationArgs = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            if (DEFAULTS.containsKey(name)) {
+                options.put(name, value);
+            } else {
+                applicationArgs.put(name, value);
+            }
+        }
+        new LoadTest(options).run(applicationArgs);
+    }
+
+    private void run(Map<String, String> applicationArgs) throws Exception {
+        // Devtools would otherwise relaunch main() with the Spring arguments; it only reads this as a system property
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        // The migrations are PostgreSQL-specific; let Hibernate create the H2 schema
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("server.port", "0");
+        properties.put("file.upload-dir", Files.createTempDirectory("ats-loadtest").toString());
+        properties.put("seed.generator.enabled", "true");
+        properties.put("logging.level.root", "WARN");
+        properties.put("metrics.scrape-token", SCRAPE_TOKEN);
+        InProcessS3 s3 = null;
+        if ("s3".equals(option("store"))) {
+            s3 = InProcessS3.start();
+            properties.put("file.store", "s3");
+            properties.put("file.s3.endpoint", s3.endpoint().toString());
+            properties.put("file.s3.bucket", "resumes");
+            properties.put("file.s3.path-style", "true");
+            properties.put("file.s3.access-key", "loadtest");
+            properties.put("file.s3.secret-key", "loadtest");
+        }
+        properties.putAll(applicationArgs);
+
+        // Command-line arguments, so they win over application.properties
+        String[] springArgs = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AtsApplication.class)
+                .run(springArgs)) {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Map<String, Object> dataset = seed();
+            prepare();
+            long elapsedNanos = drive();
+            report(dataset, elapsedNanos);
+            if (s3 != null) {
+                log("S3 stand-in holds %d objects", s3.objectCount());
+            }
+        } finally {
+            if (s3 != null) {
+                s3.close();
+            }
+        }
+    }
+
+    private Map<String, Object> seed() throws Exception {
+        log("Seeding %s users, %s jobs x %s applications", option("users"), option("jobs"),
+                option("applicationsPerJob"));
+        String query = "users=" + option("users") + "&jobs=" + option("jobs")
+                + "&applicationsPerJob=" + option("applicationsPerJob") + "&seed=" + option("seed")
+                + "&resumes=" + option("resumes");
+        JsonNode result = call(HttpRequest.newBuilder(uri("/api/seed?" + query))
+                .POST(BodyPublishers.noBody())
+                .timeout(Duration.ofMinutes(30)));
+        if (!result.path("success").asBoolean()) {
+            throw new IllegalStateException("Seeding failed: " + result.path("error").asString());
+        }
+
+        String login = jsonMapper.writeValueAsString(Map.of("email", "test@test.com", "password", "123456"));
+        token = call(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(BodyPublishers.ofString(login)))
+                .path("token").asString();
+
+        Map<String, Object> dataset = new LinkedHashMap<>();
+        result.properties().forEach(entry -> {
+            if (entry.getValue().isNumber()) {
+                dataset.put(entry.getKey(), entry.getValue().numberValue());
+            }
+        });
+        return dataset;
+    }
+
+    private void prepare() throws Exception {
+        jobIds = new ArrayList<>();
+        for (JsonNode job : call(HttpRequest.newBuilder(uri("/api/jobs")).GET())) {
+            jobIds.add(job.path("id").asLong());
+        }
+        if (jobIds.isEmpty()) {
+            throw new IllegalStateException("No active jobs to drive load against; raise --jobs");
+        }
+
+        applicationIds = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < ID_PAGES; page++) {
+            JsonNode result = call(authorized("/api/applications?size=200"
+                    + (cursor != null ? "&cursor=" + encode(cursor) : "")).GET());
+            result.path("items").forEach(item -> applicationIds.add(item.path("id").asLong()));
+            cursor = text(result.path("nextCursor"));
+            if (cursor == null) {
+                break;
+            }
+        }
+
+        largeFileUrl = uploadLargeResume();
+
+        wheel = parseMix(option("mix"));
+        log("Ready: %d jobs, %d application ids, large file %s", jobIds.size(), applicationIds.size(),
+                largeFileUrl);
+    }
+
+    /**
+     * Applies once with a large resume and returns its download URL, waiting
+     * for the application to be written when intake is asynchronous.
+     */
+    private String uploadLargeResume() throws Exception {
+        byte[] resume = resumeBytes(Integer.parseInt(option("large-file-size")));
+        Long jobId = jobIds.get(0);
+        JsonNode response = call(applyRequest(jobId, resume));
+        String trackingId = text(response.path("trackingId"));
+        if (trackingId == null) {
+            return response.path("resumeDownloadUrl").asString();
+        }
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JsonNode status = call(HttpRequest.newBuilder(uri("/api/jobs/" + jobId + "/apply/" + trackingId)).GET());
+            if ("ACCEPTED".equals(status.path("state").asString())) {
+                return call(authorized("/api/applications/" + status.path("applicationId").asLong()).GET())
+                        .path("resumeDownloadUrl").asString();
+            }
+            if ("FAILED".equals(status.path("state").asString())) {
+                throw new IllegalStateException("Large resume upload failed: " + status.path("error").asString());
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Large resume upload was not accepted in time");
+    }
+
+    private long drive() throws InterruptedException {
+        int clients = Integer.parseInt(option("clients"));
+        Duration warmup = Duration.parse(option("warmup"));
+        Duration duration = Duration.parse(option("duration"));
+        log("Driving %d clients: %s warmup, %s measured", clients, warmup, duration);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < clients; i++) {
+            executor.submit(() -> {
+                while (!stopped) {
+                    exchange(wheel[ThreadLocalRandom.current().nextInt(wheel.length)]);
+                }
+            });
+        }
+
+        Thread.sleep(warmup.toMillis());
+        measuring = true;
+        long started = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        measuring = false;
+        long elapsedNanos = System.nanoTime() - started;
+
+        stopped = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+        return elapsedNanos;
+    }
+
+    private void exchange(Scenario scenario) {
+        HttpRequest request = build(scenario);
+        long started = System.nanoTime();
+        long bytes = 0;
+        boolean ok;
+        try {
+            HttpResponse<InputStream> response = http.send(request, BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                bytes = body.transferTo(OutputStream.nullOutputStream());
+            }
+            ok = response.statusCode() < 400;
+        } catch (IOException ex) {
+            ok = false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stopped = true;
+            return;
+        }
+        if (measuring) {
+            stats.get(scenario).record(System.nanoTime() - started, bytes, ok);
+        }
+    }
+
+    private HttpRequest build(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long jobId = jobIds.get(random.nextInt(jobIds.size()));
+        return switch (scenario) {
+            case JOBS -> HttpRequest.newBuilder(uri("/api/jobs")).GET().build();
+            case JOB -> HttpRequest.newBuilder(uri("/api/jobs/" + jobId)).GET().build();
+            case APPLY -> applyRequest(jobId, resumeBytes(Integer.parseInt(option("resume-size")))).build();
+            case FILTER -> authorized("/api/applications?jobId=" + jobId
+                    + (random.nextBoolean() ? "&status=" + STATUSES[random.nextInt(STATUSES.length)] : ""))
+                    .GET().build();
+            case SEARCH -> authorized("/api/applications/search?query="
+                    + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]).GET().build();
+            case STATS -> authorized("/api/applications/stats").GET().build();
+            case STATUS -> authorized("/api/applications/"
+                    + applicationIds.get(random.nextInt(applicationIds.size())) + "/status")
+                    .header("Content-Type", "application/json")
+                    .PUT(BodyPublishers.ofString("{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}"))
+                    .build();
+            case DOWNLOAD -> HttpRequest.newBuilder(uri(largeFileUrl)).GET().build();
+        };
+    }
+
+    private void report(Map<String, Object> dataset, long elapsedNanos) throws IOException, InterruptedException {
+        Map<String, Double> statements = statementsPerRequest();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors",
+                "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "MB/s", "SQL/req");
+        for (Map.Entry<Scenario, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            if (endpoint.getCount() == 0) {
+                continue;
+            }
+            Map<String, Object> summary = endpoint.summarize(elapsedNanos);
+            double statementsPerRequest = statements.getOrDefault(entry.getKey().route, Double.NaN);
+            summary.put("statementsPerRequest", statementsPerRequest);
+            endpoints.put(endpoint.getName(), summary);
+            System.out.printf("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint.getName(),
+                    summary.get("requests"), summary.get("errors"), summary.get("throughputPerSecond"),
+                    summary.get("p50Millis"), summary.get("p95Millis"), summary.get("p99Millis"),
+                    summary.get("maxMillis"), summary.get("megabytesPerSecond"), statementsPerRequest);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("dataset", dataset);
+        report.put("measuredSeconds", elapsedNanos / 1e9);
+        report.put("endpoints", endpoints);
+        Path path = Path.of(option("report"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(report));
+        log("Report written to %s", path.toAbsolutePath());
+    }
+
+    /**
+     * Average Hibernate statements per request by route, from the
+     * application's own {@code ats.request.statements} metric.
+     */
+    private Map<String, Double> statementsPerRequest() throws IOException, InterruptedException {
+        String scrape = http.send(HttpRequest.newBuilder(uri("/actuator/prometheus"))
+                        .header("Authorization", "Bearer " + SCRAPE_TOKEN).GET().build(),
+                BodyHandlers.ofString()).body();
+        Map<String, Double> sums = new LinkedHashMap<>();
+        Map<String, Double> counts = new LinkedHashMap<>();
+        Matcher matcher = STATEMENTS_SAMPLE.matcher(scrape);
+        while (matcher.find()) {
+            String route = matcher.group(2) + " " + matcher.group(3);
+            double value = Double.parseDouble(matcher.group(4));
+            ("sum".equals(matcher.group(1)) ? sums : counts).put(route, value);
+        }
+        Map<String, Double> perRequest = new LinkedHashMap<>();
+        sums.forEach((route, sum) -> {
+            Double count = counts.get(route);
+            if (count != null && count > 0) {
+                perRequest.put(route, Math.round(sum / count * 100) / 100.0);
+            }
+        });
+        return perRequest;
+    }
+
+    private HttpRequest.Builder applyRequest(Long jobId, byte[] resume) {
+        String boundary = UUID.randomUUID().toString();
+        long applicant = applicants.incrementAndGet();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(resume.length + 512);
+        writePart(body, boundary, "candidateName", null, ("Load Candidate " + applicant)
+                .getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "candidateEmail", null, ("candidate" + applicant + "@load.example")
+                .getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "resume", "resume-" + applicant + ".pdf", resume);
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return HttpRequest.newBuilder(uri("/api/jobs/" + jobId + "/apply"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(BodyPublishers.ofByteArray(body.toByteArray()));
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String name, String fileName,
+            byte[] content) {
+        StringBuilder headers = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (fileName != null) {
+            headers.append("; filename=\"").append(fileName).append("\"\r\nContent-Type: application/pdf");
+        }
+        headers.append("\r\n\r\n");
+        body.writeBytes(headers.toString().getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Random bodies, so content-addressed storage never deduplicates them
+    private static byte[] resumeBytes(int size) {
+        byte[] bytes = new byte[size];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        byte[] header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, bytes, 0, Math.min(header.length, size));
+        return bytes;
+    }
+
+    private JsonNode call(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request.build(), BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.build().uri() + " answered " + response.statusCode() + ": "
+                    + response.body());
+        }
+        return jsonMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private String option(String name) {
+        return options.get(name);
+    }
+
+    private static Scenario[] parseMix(String mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like name=weight, got: " + entry);
+            }
+            Scenario scenario = Scenario.valueOf(parts[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(parts[1].trim()); i > 0; i--) {
+                wheel.add(scenario);
+            }
+        }
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no positive weights: " + mix);
+        }
+        return wheel.toArray(Scenario[]::new);
+    }
+
+    private static String text(JsonNode node) {
+        return node.isMissingNode() || node.isNull() ? null : node.asString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+
+    private enum Scenario {
+        JOBS("GET /api/jobs", "GET /api/jobs"),
+        JOB("GET /api/jobs/{id}", "GET /api/jobs/{id}"),
+        APPLY("POST /api/jobs/{id}/apply", "POST /api/jobs/{id}/apply"),
+        FILTER("GET /api/applications?jobId&status", "GET /api/applications"),
+        SEARCH("GET /api/applications/search", "GET /api/applications/search"),
+        STATS("GET /api/applications/stats", "GET /api/applications/stats"),
+        STATUS("PUT /api/applications/{id}/status", "PUT /api/applications/{id}/status"),
+        DOWNLOAD("GET /api/files/download (large)", "GET /api/files/download/{fileName:.+}");
+
+        private final String label;
+        // Method and URI template as tagged on the application's request metrics
+        private final String route;
+
+        Scenario(String label, String route) {
+            this.label = label;
+            this.route = route;
+        }
+    }
+}
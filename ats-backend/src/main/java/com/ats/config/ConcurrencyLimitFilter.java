@@ -0,0 +1,92 @@
+package com.ats.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of {@code /api} requests in flight. With platform threads
+ * Tomcat's pool is the cap; with virtual threads there is none, so thousands
+ * of requests could pile onto the connection pool and all time out together.
+ * Past {@code concurrency.max-requests}, a request waits up to
+ * {@code concurrency.acquire-timeout} for a slot and is then answered 503
+ * with Retry-After.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${concurrency.max-requests:400}")
+    private int maxRequests;
+
+    @Value("${concurrency.acquire-timeout:PT2S}")
+    private Duration acquireTimeout;
+
+    private Semaphore permits;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxRequests);
+        Gauge.builder("ats.requests.in-flight", permits, semaphore -> maxRequests - semaphore.availablePermits())
+                .description("API requests holding a concurrency slot")
+                .register(meterRegistry);
+        rejected = Counter.builder("ats.requests.rejected")
+                .description("API requests turned away by the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is busy, please retry shortly\"}");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ats.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level and query
+ * caches. Entity regions are bounded and expire after
+ * {@code cache.entity-ttl} as a safety net for writes made outside the
+ * application; writes made by the application evict precisely (see
+ * {@code EntityCacheEvictor}). The update-timestamps region must never drop
+ * entries, or cached query results could outlive the data they came from,
+ * so it is unbounded.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String JOBS_REGION = "jobs";
+    public static final String USERS_REGION = "users";
+    // Hibernate's default names for the query cache regions
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${cache.jobs.max-entries:10000}")
+    private long maxJobs;
+
+    @Value("${cache.users.max-entries:10000}")
+    private long maxUsers;
+
+    @Value("${cache.query-results.max-entries:10000}")
+    private long maxQueryResults;
+
+    @Value("${cache.entity-ttl:PT10M}")
+    private Duration entityTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(MeterRegistry meterRegistry) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        createRegion(cacheManager, meterRegistry, JOBS_REGION, maxJobs, entityTtl);
+        createRegion(cacheManager, meterRegistry, USERS_REGION, maxUsers, entityTtl);
+        createRegion(cacheManager, meterRegistry, QUERY_RESULTS_REGION, maxQueryResults, entityTtl);
+        createRegion(cacheManager, meterRegistry, UPDATE_TIMESTAMPS_REGION, null, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry, String name,
+            Long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxEntries != null) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // Hit/miss counts for the cache.gets metric
+        configuration.setStatisticsEnabled(true);
+        JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(name, configuration));
+    }
+}
@@ -0,0 +1,68 @@
+package com.ats.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener (registered through
+ * {@code hibernate.session.events.auto}) that adds every JDBC statement and
+ * batch a session executes to the tally of the current request thread, if
+ * {@link StatementMetricsFilter} opened one. Hibernate creates one instance
+ * per session, and a session is only used by one thread at a time.
+ */
+public class StatementCounter implements SessionEventListener {
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    private long startedAt;
+
+    static Tally open() {
+        Tally tally = new Tally();
+        CURRENT.set(tally);
+        return tally;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        count();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        count();
+    }
+
+    private void count() {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.statements++;
+            tally.nanos += System.nanoTime() - startedAt;
+        }
+    }
+
+    static final class Tally {
+        private int statements;
+        private long nanos;
+
+        int getStatements() {
+            return statements;
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ats.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many Hibernate JDBC statements each request ran and how long
+ * they took, tagged by method and URI template like
+ * {@code http.server.requests}. A request above
+ * {@code metrics.statements.warn-threshold} statements is logged and counted
+ * in {@code ats.request.statements.excessive}; that is almost always an N+1
+ * (a lazy association touched once per row).
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${metrics.statements.warn-threshold:20}")
+    private int warnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.Tally tally = StatementCounter.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.close();
+            record(request, tally);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementCounter.Tally tally) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("ats.request.statements")
+                .description("Hibernate JDBC statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(tally.getStatements());
+        Timer.builder("ats.request.statement.time")
+                .description("Time spent executing Hibernate JDBC statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(tally.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (tally.getStatements() > warnThreshold) {
+            Counter.builder("ats.request.statements.excessive")
+                    .description("Requests that ran more statements than metrics.statements.warn-threshold")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} ran {} statements ({} ms), threshold is {}; likely an N+1 query",
+                    request.getMethod(), uri, tally.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(tally.getNanos()), warnThreshold);
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.ats.controller;
 
 import com.ats.dto.ApplicationDto;
+import com.ats.dto.BulkStatusUpdateRequest;
+import com.ats.dto.BulkStatusUpdateResult;
+import com.ats.dto.CursorPage;
 import com.ats.dto.DashboardStats;
 import com.ats.dto.StatusUpdateRequest;
 import com.ats.model.Application.ApplicationStatus;
 import com.ats.service.ApplicationService;
+import com.ats.service.DataFormat;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/applications")
@@ -20,15 +27,37 @@ public class ApplicationController {
     private final ApplicationService applicationService;
 
     @GetMapping
-    public ResponseEntity<List<ApplicationDto>> getApplications(
+    public ResponseEntity<CursorPage<ApplicationDto>> getApplications(
             @RequestParam(required = false) Long jobId,
-            @RequestParam(required = false) ApplicationStatus status) {
-        return ResponseEntity.ok(applicationService.getApplicationsByFilters(jobId, status));
+            @RequestParam(required = false) ApplicationStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(applicationService.getApplicationsByFilters(jobId, status, cursor, size));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ApplicationDto>> searchApplications(@RequestParam String query) {
-        return ResponseEntity.ok(applicationService.searchApplications(query));
+    public ResponseEntity<CursorPage<ApplicationDto>> searchApplications(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(applicationService.searchApplications(query, cursor, size));
+    }
+
+    /**
+     * Streams all matching applications as CSV or NDJSON; rows are written
+     * as they are read, so the response is never held in memory.
+     */
+    @GetMapping("/export")
+    public void exportApplications(
+            @RequestParam(required = false) Long jobId,
+            @RequestParam(required = false) ApplicationStatus status,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        DataFormat exportFormat = DataFormat.parse(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"applications-" + LocalDate.now() + "." + exportFormat.getExtension() + "\"");
+        applicationService.exportApplications(jobId, status, exportFormat, response.getOutputStream());
     }
 
     @GetMapping("/stats")
@@ -41,6 +70,12 @@ public class ApplicationController {
         return ResponseEntity.ok(applicationService.getApplicationById(id));
     }
 
+    @PutMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResult> updateStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(applicationService.updateStatuses(request));
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<ApplicationDto> updateStatus(
             @PathVariable Long id,
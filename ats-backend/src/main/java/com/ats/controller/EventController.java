@@ -0,0 +1,28 @@
+package com.ats.controller;
+
+import com.ats.service.ChangeFeed;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventController {
+
+    private final ChangeFeed changeFeed;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            HttpServletResponse response) {
+        response.setHeader("Cache-Control", "no-cache");
+        // Reverse proxies (nginx) would otherwise buffer the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return changeFeed.subscribe(lastEventId);
+    }
+}
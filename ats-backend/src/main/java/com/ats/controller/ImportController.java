@@ -0,0 +1,52 @@
+package com.ats.controller;
+
+import com.ats.dto.ImportResult;
+import com.ats.model.User;
+import com.ats.service.BulkImportService;
+import com.ats.service.DataFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Bulk import for migrations. The request body is a CSV (with header row) or
+ * NDJSON stream and is read incrementally, never buffered as a whole.
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final BulkImportService bulkImportService;
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ImportResult> importJobs(
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal User user,
+            HttpServletRequest request) throws IOException {
+        requireRawBody(request);
+        return ResponseEntity.ok(bulkImportService.importJobs(request.getInputStream(), DataFormat.parse(format), user));
+    }
+
+    @PostMapping("/applications")
+    public ResponseEntity<ImportResult> importApplications(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        requireRawBody(request);
+        return ResponseEntity.ok(bulkImportService.importApplications(request.getInputStream(), DataFormat.parse(format)));
+    }
+
+    // Form and multipart bodies are consumed by the container before we can stream them
+    private static void requireRawBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType != null && (contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                || contentType.startsWith("multipart/"))) {
+            throw new RuntimeException("Send the import body as text/csv or application/x-ndjson");
+        }
+    }
+}
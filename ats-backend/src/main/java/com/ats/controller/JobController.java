@@ -1,17 +1,24 @@
 package com.ats.controller;
 
-import com.ats.dto.ApplicationDto;
+import com.ats.dto.IntakeStatus;
 import com.ats.dto.JobDto;
 import com.ats.model.User;
+import com.ats.service.ApplicationIntakeService;
 import com.ats.service.ApplicationService;
+import com.ats.service.JobBoardCache;
+import com.ats.service.JobBoardCache.CachedBody;
 import com.ats.service.JobService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -21,10 +28,15 @@ public class JobController {
 
     private final JobService jobService;
     private final ApplicationService applicationService;
+    private final ApplicationIntakeService applicationIntakeService;
+    private final JobBoardCache jobBoardCache;
+
+    @Value("${jobs.board-cache.max-age:PT30S}")
+    private Duration boardMaxAge;
 
     @GetMapping
-    public ResponseEntity<List<JobDto>> getAllJobs() {
-        return ResponseEntity.ok(jobService.getAllActiveJobs());
+    public ResponseEntity<byte[]> getAllJobs() {
+        return cached(jobBoardCache.activeJobs());
     }
 
     @GetMapping("/my")
@@ -38,8 +50,8 @@ public class JobController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JobDto> getJobById(@PathVariable Long id) {
-        return ResponseEntity.ok(jobService.getJobById(id));
+    public ResponseEntity<byte[]> getJobById(@PathVariable Long id) {
+        return cached(jobBoardCache.job(id));
     }
 
     @PostMapping
@@ -63,11 +75,34 @@ public class JobController {
     }
 
     @PostMapping("/{id}/apply")
-    public ResponseEntity<ApplicationDto> applyForJob(
+    public ResponseEntity<?> applyForJob(
             @PathVariable Long id,
             @RequestParam("candidateName") String candidateName,
             @RequestParam("candidateEmail") String candidateEmail,
             @RequestParam(value = "resume", required = false) MultipartFile resume) {
+        if (applicationIntakeService.isAsync()) {
+            return ResponseEntity.accepted()
+                    .body(applicationIntakeService.submit(id, candidateName, candidateEmail, resume));
+        }
         return ResponseEntity.ok(applicationService.submitApplication(id, candidateName, candidateEmail, resume));
     }
+
+    @GetMapping("/{id}/apply/{trackingId}")
+    public ResponseEntity<IntakeStatus> getApplicationIntakeStatus(@PathVariable Long id,
+            @PathVariable String trackingId) {
+        IntakeStatus status = applicationIntakeService.getStatus(trackingId);
+        if (!id.equals(status.getJobId())) {
+            throw new RuntimeException("Unknown tracking id");
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    // A matching If-None-Match is answered 304 by Spring from the ETag set here
+    private ResponseEntity<byte[]> cached(CachedBody cached) {
+        return ResponseEntity.ok()
+                .eTag(cached.etag())
+                .cacheControl(CacheControl.maxAge(boardMaxAge).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.body());
+    }
 }
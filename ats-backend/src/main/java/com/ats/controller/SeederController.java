@@ -7,7 +7,15 @@ import com.ats.model.User;
 import com.ats.repository.ApplicationRepository;
 import com.ats.repository.JobRepository;
 import com.ats.repository.UserRepository;
+import com.ats.service.CandidateSearchIndex;
+import com.ats.service.DashboardStatsEngine;
+import com.ats.service.DuplicateApplicationGuard;
+import com.ats.service.EntityCacheEvictor;
+import com.ats.service.JobBoardCache;
+import com.ats.service.JobCounterReconciler;
+import com.ats.service.SyntheticDataGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +33,9 @@ import java.util.Random;
  * - Start project normally: .\mvnw.cmd spring-boot:run
  * - When you need data, call: POST http://localhost:8080/api/seed
  * - Or open in browser: http://localhost:8080/api/seed/run
+ *
+ * Large generated datasets (needs seed.generator.enabled=true):
+ * - POST /api/seed?users=50&jobs=2000&applicationsPerJob=500&seed=42&resumes=100&threads=4
  */
 @RestController
 @RequestMapping("/api/seed")
@@ -35,6 +46,16 @@ public class SeederController {
     private final JobRepository jobRepository;
     private final ApplicationRepository applicationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final JobCounterReconciler jobCounterReconciler;
+    private final DashboardStatsEngine dashboardStatsEngine;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final DuplicateApplicationGuard duplicateApplicationGuard;
+    private final JobBoardCache jobBoardCache;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final SyntheticDataGenerator syntheticDataGenerator;
+
+    @Value("${seed.generator.enabled:false}")
+    private boolean generatorEnabled;
 
     private final Random random = new Random();
 
@@ -50,10 +71,59 @@ public class SeederController {
     /**
      * POST endpoint - For API calls
      * POST http://localhost:8080/api/seed
+     * With any of users/jobs/applicationsPerJob set, generates a synthetic
+     * dataset of that size instead of the fixed demo data.
      */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> seedPost() {
-        return runSeeder();
+    public ResponseEntity<Map<String, Object>> seedPost(
+            @RequestParam(required = false) Integer users,
+            @RequestParam(required = false) Integer jobs,
+            @RequestParam(required = false) Integer applicationsPerJob,
+            @RequestParam(defaultValue = "42") long seed,
+            @RequestParam(defaultValue = "0") int resumes,
+            @RequestParam(required = false) Integer threads) {
+        if (users == null && jobs == null && applicationsPerJob == null) {
+            return runSeeder();
+        }
+        return runGenerator(users != null ? users : 10, jobs != null ? jobs : 100,
+                applicationsPerJob != null ? applicationsPerJob : 100, seed, resumes,
+                threads != null ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    private ResponseEntity<Map<String, Object>> runGenerator(int users, int jobs, int applicationsPerJob,
+            long seed, int resumes, int threads) {
+        Map<String, Object> result = new HashMap<>();
+        if (!generatorEnabled) {
+            result.put("success", false);
+            result.put("error", "Synthetic data generation is disabled (seed.generator.enabled)");
+            return ResponseEntity.badRequest().body(result);
+        }
+
+        try {
+            createUser("Test Recruiter", "test@test.com", "123456");
+            result.putAll(syntheticDataGenerator.generate(users, jobs, applicationsPerJob, seed, resumes, threads));
+
+            // Rows were inserted over JDBC, so bring the derived views up to date
+            long started = System.nanoTime();
+            jobCounterReconciler.reconcile();
+            dashboardStatsEngine.rebuild();
+            candidateSearchIndex.rebuild();
+            duplicateApplicationGuard.rebuild();
+            jobBoardCache.invalidate();
+            entityCacheEvictor.evictAll();
+            result.put("derivedViewsRebuildMillis", (System.nanoTime() - started) / 1_000_000);
+
+            result.put("success", true);
+            result.put("testCredentials", Map.of(
+                    "email", "test@test.com",
+                    "password", "123456"));
+            return ResponseEntity.ok(result);
+
+        } catch (Exception e) {
+            result.put("success", false);
+            result.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(result);
+        }
     }
 
     private ResponseEntity<Map<String, Object>> runSeeder() {
@@ -141,6 +211,14 @@ public class SeederController {
                 }
             }
 
+            // Rows were saved directly, so bring the derived views up to date
+            jobCounterReconciler.reconcile();
+            dashboardStatsEngine.rebuild();
+            candidateSearchIndex.rebuild();
+            duplicateApplicationGuard.rebuild();
+            jobBoardCache.invalidate();
+            entityCacheEvictor.evictAll();
+
             result.put("success", true);
             result.put("message", "Database seeded successfully!");
             result.put("recruitersCreated", 3);
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// Field order is the all-args constructor that ApplicationRepository.DTO_SELECT calls
 public class ApplicationDto {
 
     private Long id;
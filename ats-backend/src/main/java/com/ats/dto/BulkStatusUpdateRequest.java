@@ -0,0 +1,28 @@
+package com.ats.dto;
+
+import com.ats.model.Application.ApplicationStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Either an explicit list of {@code ids}, or a {@code jobId} plus
+ * {@code currentStatus} filter selecting every matching application.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+
+    private List<Long> ids;
+
+    private Long jobId;
+
+    private ApplicationStatus currentStatus;
+
+    @NotNull(message = "Status is required")
+    private ApplicationStatus status;
+}
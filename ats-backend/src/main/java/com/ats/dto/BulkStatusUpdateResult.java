@@ -0,0 +1,35 @@
+package com.ats.dto;
+
+import com.ats.model.Application.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+
+    private ApplicationStatus status;
+    private int updated;
+    private int unchanged;
+    private int notFound;
+    private List<Item> results;
+
+    public enum Outcome {
+        UPDATED, UNCHANGED, NOT_FOUND
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private ApplicationStatus previousStatus;
+        private Outcome outcome;
+    }
+}
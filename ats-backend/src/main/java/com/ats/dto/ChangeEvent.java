@@ -0,0 +1,34 @@
+package com.ats.dto;
+
+import com.ats.model.Application.ApplicationStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Payload of one change pushed on {@code GET /api/events}. The SSE event name
+ * says what happened; only the fields that change needs are set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+    private Long applicationId;
+    private Long jobId;
+    private String jobTitle;
+    private String candidateName;
+    private String candidateEmail;
+    private ApplicationStatus status;
+    private ApplicationStatus previousStatus;
+    private LocalDateTime submittedAt;
+    private Boolean active;
+    private Map<ApplicationStatus, Long> movedFromStatus;
+    private Map<ApplicationStatus, Long> removedApplicationsByStatus;
+}
@@ -0,0 +1,39 @@
+package com.ats.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+
+    private long received;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    // First errors only, capped by import.max-reported-errors
+    private List<RowError> errors;
+
+    // Job imports only: the id a row carried in the source system -> id assigned here
+    private Map<Long, Long> jobIdsBySourceId;
+
+    // Job imports only: more rows carried an id than import.max-mapped-job-ids, and the rest are not listed
+    private boolean jobIdsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
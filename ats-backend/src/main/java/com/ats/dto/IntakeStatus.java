@@ -0,0 +1,22 @@
+package com.ats.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntakeStatus {
+    private String trackingId;
+    private Long jobId;
+    private State state;
+    private Long applicationId;
+    private String error;
+
+    public enum State {
+        QUEUED, ACCEPTED, FAILED
+    }
+}
@@ -0,0 +1,7 @@
+package com.ats.event;
+
+import com.ats.model.Application.ApplicationStatus;
+
+public record ApplicationStatusChangedEvent(Long applicationId, Long jobId,
+        ApplicationStatus previousStatus, ApplicationStatus newStatus) {
+}
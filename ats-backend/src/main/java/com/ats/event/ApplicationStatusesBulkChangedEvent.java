@@ -0,0 +1,14 @@
+package com.ats.event;
+
+import com.ats.model.Application.ApplicationStatus;
+
+import java.util.Map;
+
+/**
+ * One bulk status change: how many applications moved from each previous
+ * status to {@code newStatus}. Rows already in the target status are not
+ * counted.
+ */
+public record ApplicationStatusesBulkChangedEvent(ApplicationStatus newStatus,
+        Map<ApplicationStatus, Long> movedFromStatus) {
+}
@@ -0,0 +1,14 @@
+package com.ats.event;
+
+import com.ats.model.Application.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code ApplicationService} once an application row has been
+ * inserted. Listeners that must not see rolled-back work should use
+ * {@code @TransactionalEventListener}.
+ */
+public record ApplicationSubmittedEvent(Long applicationId, Long jobId, String candidateName,
+        String candidateEmail, ApplicationStatus status, LocalDateTime submittedAt) {
+}
@@ -0,0 +1,14 @@
+package com.ats.event;
+
+import com.ats.model.Application.ApplicationStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published by {@code JobService} when a job is deleted. Carries the status
+ * breakdown and resume files of the applications removed with it by the cascade.
+ */
+public record JobDeletedEvent(Long jobId, Map<ApplicationStatus, Long> removedApplicationsByStatus,
+        List<String> removedResumePaths) {
+}
@@ -0,0 +1,10 @@
+package com.ats.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code JobService} when a job is created or updated.
+ */
+public record JobSavedEvent(Long jobId, String title, boolean active, LocalDateTime createdAt,
+        boolean created) {
+}
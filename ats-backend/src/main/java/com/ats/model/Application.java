@@ -16,8 +16,13 @@ import java.time.LocalDateTime;
 @Table(name = "applications")
 public class Application {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence so inserts can be JDBC-batched (IDENTITY forces one round-trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "applications_seq")
+    @SequenceGenerator(name = "applications_seq", sequenceName = "applications_seq",
+            allocationSize = Application.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,6 +18,7 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "jobs")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "jobs")
 public class Job {
 
     @Id
@@ -34,6 +37,14 @@ public class Job {
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    /**
+     * Maintained by {@code JobRepository#incrementApplicationCount} and friends;
+     * never written by entity updates so a stale copy cannot overwrite it.
+     */
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long applicationCount = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
@@ -1,17 +1,31 @@
 package com.ats.repository;
 
+import com.ats.dto.ApplicationDto;
 import com.ats.model.Application;
 import com.ats.model.Application.ApplicationStatus;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
 
+    int EXPORT_FETCH_SIZE = 1000;
+
     List<Application> findByJobIdOrderBySubmittedAtDesc(Long jobId);
 
     List<Application> findByStatusOrderBySubmittedAtDesc(ApplicationStatus status);
@@ -29,7 +43,171 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
             "ORDER BY a.submittedAt DESC")
     List<Application> searchByNameOrEmail(@Param("query") String query);
 
+    /**
+     * Select clause building {@link ApplicationDto} rows in the query itself:
+     * one statement joined to the job title, no managed entities, no lazy
+     * job loads and nothing to dirty-check. Arguments follow the DTO's
+     * all-args constructor.
+     */
+    String DTO_SELECT = "SELECT new com.ats.dto.ApplicationDto(a.id, a.candidateName, a.candidateEmail, " +
+            "a.resumeOriginalName, " +
+            "CASE WHEN a.resumePath IS NULL THEN NULL ELSE CONCAT('/api/files/download/', a.resumePath) END, " +
+            "a.status, a.submittedAt, j.id, j.title) FROM Application a JOIN a.job j ";
+
+    /**
+     * Rows after a (submittedAt, id) cursor in newest-first order. The leading
+     * {@code <=} gives the database an index range on submitted_at; the rest
+     * breaks ties on id.
+     */
+    String KEYSET_AFTER = "a.submittedAt <= :submittedAt AND " +
+            "(a.submittedAt < :submittedAt OR a.id < :id) ";
+
+    @Query(DTO_SELECT)
+    List<ApplicationDto> findAllDtos();
+
+    @Query(DTO_SELECT + "WHERE a.id = :id")
+    Optional<ApplicationDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE a.id IN :ids")
+    List<ApplicationDto> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(DTO_SELECT + "WHERE " +
+            "(:jobId IS NULL OR j.id = :jobId) AND " +
+            "(:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.submittedAt DESC, a.id DESC")
+    List<ApplicationDto> findFirstPageByFilters(@Param("jobId") Long jobId,
+            @Param("status") ApplicationStatus status,
+            Limit limit);
+
+    @Query(DTO_SELECT + "WHERE " +
+            "(:jobId IS NULL OR j.id = :jobId) AND " +
+            "(:status IS NULL OR a.status = :status) AND " +
+            KEYSET_AFTER +
+            "ORDER BY a.submittedAt DESC, a.id DESC")
+    List<ApplicationDto> findPageByFiltersAfter(@Param("jobId") Long jobId,
+            @Param("status") ApplicationStatus status,
+            @Param("submittedAt") LocalDateTime submittedAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    @Query(DTO_SELECT + "WHERE " +
+            "LOWER(a.candidateName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(a.candidateEmail) LIKE LOWER(CONCAT('%', :query, '%')) " +
+            "ORDER BY a.submittedAt DESC, a.id DESC")
+    List<ApplicationDto> searchFirstPageByNameOrEmail(@Param("query") String query, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE " +
+            "(LOWER(a.candidateName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(a.candidateEmail) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
+            KEYSET_AFTER +
+            "ORDER BY a.submittedAt DESC, a.id DESC")
+    List<ApplicationDto> searchPageByNameOrEmailAfter(@Param("query") String query,
+            @Param("submittedAt") LocalDateTime submittedAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Forward-only cursor over every matching application, for exports. Must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Application a JOIN FETCH a.job WHERE " +
+            "(:jobId IS NULL OR a.job.id = :jobId) AND " +
+            "(:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.submittedAt DESC, a.id DESC")
+    Stream<Application> streamByFilters(@Param("jobId") Long jobId,
+            @Param("status") ApplicationStatus status);
+
     long countByStatus(ApplicationStatus status);
 
+    @Query("SELECT a.status AS status, COUNT(a) AS total FROM Application a GROUP BY a.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT a.job.id AS jobId, COUNT(a) AS total FROM Application a GROUP BY a.job.id")
+    List<JobCount> countGroupedByJob();
+
     long countByJobId(Long jobId);
+
+    long countByResumePath(String resumePath);
+
+    /**
+     * Applications of this candidate to the job, 0 or 1; {@code email} must
+     * already be lower-cased to match the unique index.
+     */
+    @Query("SELECT COUNT(a) FROM Application a WHERE a.job.id = :jobId AND LOWER(a.candidateEmail) = :email")
+    long countByJobIdAndLowerEmail(@Param("jobId") Long jobId, @Param("email") String email);
+
+    /**
+     * Forward-only cursor over the (job, lower-cased email) of every
+     * application. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a.job.id AS jobId, LOWER(a.candidateEmail) AS email FROM Application a")
+    Stream<ApplicantKey> streamApplicantKeys();
+
+    @Query("SELECT a.id AS id, a.job.id AS jobId, a.candidateName AS candidateName, " +
+            "a.candidateEmail AS candidateEmail, a.submittedAt AS submittedAt FROM Application a " +
+            "WHERE a.id > :afterId ORDER BY a.id")
+    List<SearchRow> findSearchRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id AS id, a.job.id AS jobId, a.status AS status FROM Application a WHERE a.id IN :ids")
+    List<StatusRow> lockStatusRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Limited so a filter matching too many rows is refused without locking them all
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id AS id, a.job.id AS jobId, a.status AS status FROM Application a " +
+            "WHERE a.job.id = :jobId AND a.status = :status ORDER BY a.id")
+    List<StatusRow> lockStatusRowsByJobAndStatus(@Param("jobId") Long jobId,
+            @Param("status") ApplicationStatus status, Limit limit);
+
+    @Modifying
+    @Query("UPDATE Application a SET a.status = :status WHERE a.id IN :ids AND a.status <> :status")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") ApplicationStatus status);
+
+    interface SearchRow {
+        Long getId();
+
+        Long getJobId();
+
+        String getCandidateName();
+
+        String getCandidateEmail();
+
+        LocalDateTime getSubmittedAt();
+    }
+
+    interface ApplicantKey {
+        Long getJobId();
+
+        String getEmail();
+    }
+
+    interface StatusRow {
+        Long getId();
+
+        Long getJobId();
+
+        ApplicationStatus getStatus();
+    }
+
+    interface StatusCount {
+        ApplicationStatus getStatus();
+
+        long getTotal();
+    }
+
+    interface JobCount {
+        Long getJobId();
+
+        long getTotal();
+    }
 }
@@ -1,16 +1,86 @@
 package com.ats.repository;
 
 import com.ats.model.Job;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
+    @EntityGraph(attributePaths = "createdBy")
     List<Job> findByActiveTrueOrderByCreatedAtDesc();
 
+    @EntityGraph(attributePaths = "createdBy")
     List<Job> findByCreatedByIdOrderByCreatedAtDesc(Long userId);
 
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT j FROM Job j")
+    List<Job> findAllWithCreator();
+
     long countByActiveTrue();
+
+    @Query("SELECT j.active FROM Job j WHERE j.id = :id")
+    Optional<Boolean> findActiveFlagById(@Param("id") Long id);
+
+    @Query("SELECT j.id AS id, j.title AS title, j.active AS active, j.createdAt AS createdAt FROM Job j")
+    List<JobSummary> findAllSummaries();
+
+    // Counter writes name a query space no cached entity maps to: otherwise Hibernate would drop every cached job
+    // on each application. EntityCacheEvictor evicts just the touched job after commit instead.
+    String COUNTER_QUERY_SPACE = "job_application_counters";
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_QUERY_SPACE))
+    @Query(value = "UPDATE jobs SET application_count = application_count + 1 WHERE id = :id", nativeQuery = true)
+    int incrementApplicationCount(@Param("id") Long id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_QUERY_SPACE))
+    // Native: HQL would cast :delta using the column definition, which is not a valid cast target
+    @Query(value = "UPDATE jobs SET application_count = application_count + :delta WHERE id = :id", nativeQuery = true)
+    int addApplicationCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Query("SELECT j.id FROM Job j " +
+            "WHERE j.applicationCount <> (SELECT COUNT(a) FROM Application a WHERE a.job.id = j.id)")
+    List<Long> findIdsWithDriftedApplicationCount();
+
+    /**
+     * Takes the row lock that counter updates need, so increments still in
+     * flight commit (or roll back) first and later ones wait.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j.id FROM Job j WHERE j.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * Sets the counter to the actual number of applications; only correct
+     * while the row is locked (see {@link #lockById}).
+     */
+    @Modifying
+    @Query("UPDATE Job j SET j.applicationCount = " +
+            "(SELECT COUNT(a) FROM Application a WHERE a.job.id = j.id) " +
+            "WHERE j.id = :id AND j.applicationCount <> (SELECT COUNT(a) FROM Application a WHERE a.job.id = j.id)")
+    int reconcileApplicationCount(@Param("id") Long id);
+
+    interface JobSummary {
+        Long getId();
+
+        String getTitle();
+
+        Boolean getActive();
+
+        LocalDateTime getCreatedAt();
+    }
 }
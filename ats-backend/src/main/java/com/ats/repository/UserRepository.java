@@ -1,13 +1,20 @@
 package com.ats.repository;
 
 import com.ats.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Tokens carry the identity now, so this runs on sign-in (twice: the password check, then the
+    // response), on principal cache misses and for tokens issued before the claims; the cached
+    // query spares the second sign-in lookup and the repeated misses of one user
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 }
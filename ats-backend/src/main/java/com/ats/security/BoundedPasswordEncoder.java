@@ -0,0 +1,167 @@
+package com.ats.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a small dedicated pool, so a burst of logins (or a
+ * credential-stuffing run) costs at most {@code auth.hashing.threads} cores
+ * and the rest of the API keeps its CPU.
+ *
+ * Callers block until their hash is done. Past {@code auth.hashing.threads}
+ * running and {@code auth.hashing.queue-capacity} waiting, new work is
+ * answered 503 with Retry-After at once instead of queueing behind seconds of
+ * hashing. Stored hashes whose cost differs from {@code auth.bcrypt.strength}
+ * report {@link #upgradeEncoding}, so they are rehashed on the next
+ * successful login.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$.{53}\\z");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.bcrypt.strength:10}")
+    private int strength;
+
+    // 0 = half the available cores
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queue-capacity:50}")
+    private int queueCapacity;
+
+    private BCryptPasswordEncoder bcrypt;
+    private ThreadPoolExecutor executor;
+    private Timer encodeTime;
+    private Timer matchTime;
+    private Timer waitTime;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("ats.auth.hashing.queued", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("ats.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes being computed")
+                .register(meterRegistry);
+        encodeTime = hashTimer("encode");
+        matchTime = hashTimer("match");
+        waitTime = Timer.builder("ats.auth.hashing.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .register(meterRegistry);
+        rejected = Counter.builder("ats.auth.hashing.rejected")
+                .description("Password hashes turned away because the hashing queue was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTime, () -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchTime, () -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True for BCrypt hashes of any other cost, lower or higher, so changing
+     * {@code auth.bcrypt.strength} either way migrates users as they log in.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T run(Timer hashTime, Callable<T> hash) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                waitTime.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTime.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw busy();
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private Timer hashTimer(String operation) {
+        return Timer.builder("ats.auth.hashing.time")
+                .tag("operation", operation)
+                .description("Time to compute one password hash")
+                .register(meterRegistry);
+    }
+
+    private ResponseStatusException busy() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many sign-ins right now, please retry shortly") {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+}
@@ -21,6 +21,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -39,17 +40,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            userEmail = jwtUtil.extractUsername(jwt);
+            // Verifies signature and expiry once; anything invalid throws
+            VerifiedToken token = jwtUtil.verify(jwt);
+            userEmail = token.subject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
-                            null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                UserDetails userDetails = resolvePrincipal(token);
+
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
+                        null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             // Invalid token - continue without authentication
@@ -57,4 +58,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * The principal comes straight from the verified claims unless the
+     * principal cache is enabled for revocation checks. Tokens issued before
+     * the identity claims existed still fall back to a lookup.
+     */
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        if (principalCache.isEnabled()) {
+            return principalCache.get(token.subject(), userDetailsService::loadUserByUsername);
+        }
+        UserDetails principal = token.toPrincipal();
+        return principal != null ? principal : userDetailsService.loadUserByUsername(token.subject());
+    }
 }
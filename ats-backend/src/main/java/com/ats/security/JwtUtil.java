@@ -1,61 +1,113 @@
 package com.ats.security;
 
+import com.ats.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once and
+ * shared (both are immutable and thread-safe), each token is parsed at most
+ * once per request, and recently verified tokens are remembered by digest
+ * until they expire so repeat requests skip signature checking and JSON
+ * parsing altogether.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_FULL_NAME = "name";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expiration;
+    private final int verifiedCacheSize;
+    private final Map<TokenDigest, VerifiedToken> verified = new ConcurrentHashMap<>();
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") long expiration,
+            @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        this.verifiedCacheSize = verifiedCacheSize;
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    /**
+     * Verifies signature and expiry and returns the parsed token; throws a
+     * {@code JwtException} for anything that does not verify.
+     */
+    public VerifiedToken verify(String token) {
+        Instant now = Instant.now();
+        TokenDigest digest = verifiedCacheSize > 0 ? TokenDigest.of(token) : null;
+        if (digest != null) {
+            VerifiedToken cached = verified.get(digest);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    return cached;
+                }
+                verified.remove(digest);
+            }
+        }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        VerifiedToken parsed = parse(token);
+        if (digest != null) {
+            remember(digest, parsed, now);
+        }
+        return parsed;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_FULL_NAME, user.getFullName());
+        return createToken(claims, user.getUsername());
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Date expiresAt = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                claims.get(CLAIM_ROLE, String.class),
+                claims.get(CLAIM_FULL_NAME, String.class),
+                expiresAt != null ? expiresAt.toInstant() : null);
     }
 
-    public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+    /**
+     * Keeps the cache bounded: expired entries go first, and if the cache is
+     * still full it is dropped wholesale rather than tracking recency.
+     */
+    private void remember(TokenDigest digest, VerifiedToken token, Instant now) {
+        if (verified.size() >= verifiedCacheSize) {
+            verified.values().removeIf(entry -> entry.isExpired(now));
+            if (verified.size() >= verifiedCacheSize) {
+                verified.clear();
+            }
+        }
+        verified.put(digest, token);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -64,12 +116,24 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    /**
+     * First 128 bits of the SHA-256 of the compact token; raw tokens are never
+     * kept in memory.
+     */
+    private record TokenDigest(long high, long low) {
+
+        static TokenDigest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new TokenDigest(buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 not available", ex);
+            }
+        }
     }
 }
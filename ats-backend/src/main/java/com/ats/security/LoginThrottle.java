@@ -0,0 +1,217 @@
+package com.ats.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets in front of password hashing: one per client address and one
+ * per account email, so neither a single source trying many accounts nor
+ * many sources trying one account get more than a burst of
+ * {@code capacity} attempts and then one per {@code refill} interval. Tokens
+ * are taken before any hash is computed; an empty bucket is answered 429
+ * with Retry-After.
+ *
+ * The account bucket only pays for wrong passwords: a successful sign-in
+ * hands its token back, and the address it came from is trusted for that
+ * account for {@code trusted-address-ttl}. Attempts from a trusted address
+ * skip the account bucket, so someone guessing a password from elsewhere
+ * cannot lock its owner out; they still pay for their address.
+ *
+ * Buckets live on this node only and are dropped once full again. Each map
+ * holds at most {@code max-tracked} entries; past that, new addresses (or
+ * accounts) share one overflow bucket until the purge makes room, so a flood
+ * of distinct sources is throttled together instead of growing the map, and
+ * no new addresses are trusted.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginThrottle {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.rate-limit.per-address.capacity:20}")
+    private int addressCapacity;
+
+    @Value("${auth.rate-limit.per-address.refill:PT3S}")
+    private Duration addressRefill;
+
+    @Value("${auth.rate-limit.per-account.capacity:5}")
+    private int accountCapacity;
+
+    @Value("${auth.rate-limit.per-account.refill:PT12S}")
+    private Duration accountRefill;
+
+    @Value("${auth.rate-limit.trusted-address-ttl:P7D}")
+    private Duration trustedAddressTtl;
+
+    @Value("${auth.rate-limit.max-tracked:100000}")
+    private int maxTracked;
+
+    // Cannot be an address or a trimmed email
+    private static final String OVERFLOW = " overflow";
+
+    private final Map<String, Bucket> addresses = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> accounts = new ConcurrentHashMap<>();
+    // "account address" -> System.nanoTime() the trust runs out
+    private final Map<String, Long> trustedAddresses = new ConcurrentHashMap<>();
+    private Counter addressLimited;
+    private Counter accountLimited;
+
+    @PostConstruct
+    public void init() {
+        addressLimited = limited("address");
+        accountLimited = limited("account");
+    }
+
+    /**
+     * Takes a token for the address and, when given and the address is not
+     * trusted for it, the account; throws 429 if either is out of tokens.
+     * Report a correct password to the returned attempt.
+     */
+    public Attempt acquire(String address, String account) {
+        return acquire(address, account, System.nanoTime());
+    }
+
+    Attempt acquire(String address, String account, long now) {
+        if (!enabled) {
+            return Attempt.NONE;
+        }
+        long waitNanos = take(addresses, address, addressCapacity, addressRefill, now).waitNanos();
+        if (waitNanos > 0) {
+            addressLimited.increment();
+            throw tooManyAttempts(waitNanos);
+        }
+        if (account == null) {
+            return Attempt.NONE;
+        }
+        String email = account.trim().toLowerCase(Locale.ROOT);
+        String trustKey = email + " " + address;
+        Long trustedUntil = trustedAddresses.get(trustKey);
+        if (trustedUntil != null && trustedUntil - now > 0) {
+            return () -> trust(trustKey, now);
+        }
+        Taken taken = take(accounts, email, accountCapacity, accountRefill, now);
+        if (taken.waitNanos() > 0) {
+            accountLimited.increment();
+            throw tooManyAttempts(taken.waitNanos());
+        }
+        return () -> {
+            taken.bucket().refund(accountCapacity);
+            trust(trustKey, now);
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.purge-interval:PT1M}")
+    public void purgeIdle() {
+        purgeIdle(System.nanoTime());
+    }
+
+    void purgeIdle(long now) {
+        addresses.values().removeIf(bucket -> bucket.isFull(addressCapacity, addressRefill, now));
+        accounts.values().removeIf(bucket -> bucket.isFull(accountCapacity, accountRefill, now));
+        trustedAddresses.values().removeIf(trustedUntil -> trustedUntil - now <= 0);
+    }
+
+    private Taken take(Map<String, Bucket> buckets, String key, int capacity, Duration refill, long now) {
+        // The size check races with other inserts, so the map can overshoot by the number of concurrent sign-ins
+        String tracked = buckets.size() < maxTracked || buckets.containsKey(key) ? key : OVERFLOW;
+        Bucket bucket = buckets.computeIfAbsent(tracked, ignored -> new Bucket(capacity, now));
+        return new Taken(bucket, bucket.take(capacity, refill, now));
+    }
+
+    private void trust(String trustKey, long now) {
+        if (trustedAddresses.size() < maxTracked || trustedAddresses.containsKey(trustKey)) {
+            trustedAddresses.put(trustKey, now + trustedAddressTtl.toNanos());
+        }
+    }
+
+    private Counter limited(String scope) {
+        return Counter.builder("ats.auth.rate-limited")
+                .tag("scope", scope)
+                .description("Sign-in attempts turned away by a token bucket")
+                .register(meterRegistry);
+    }
+
+    private static ResponseStatusException tooManyAttempts(long waitNanos) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "Too many sign-in attempts, please wait before trying again") {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    /**
+     * One sign-in attempt that got past the buckets.
+     */
+    @FunctionalInterface
+    public interface Attempt {
+
+        Attempt NONE = () -> {
+        };
+
+        /**
+         * The password was right: the account token goes back and the
+         * address is trusted for the account.
+         */
+        void succeeded();
+    }
+
+    private record Taken(Bucket bucket, long waitNanos) {
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        // 0 if a token was taken, otherwise the nanoseconds until the next one
+        synchronized long take(int capacity, Duration refill, long now) {
+            refill(capacity, refill, now);
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) ((1 - tokens) * refill.toNanos());
+        }
+
+        synchronized void refund(int capacity) {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        synchronized boolean isFull(int capacity, Duration refill, long now) {
+            refill(capacity, refill, now);
+            return tokens >= capacity;
+        }
+
+        private void refill(int capacity, Duration refill, long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (double) (now - refilledAt) / refill.toNanos());
+                refilledAt = now;
+            }
+        }
+    }
+}
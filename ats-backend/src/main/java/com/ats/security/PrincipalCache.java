@@ -0,0 +1,82 @@
+package com.ats.security;
+
+import com.ats.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicted cache of database-loaded principals, used only when
+ * {@code jwt.principal-cache.enabled=true}. Deployments that must notice
+ * deleted or demoted users get that within one TTL instead of paying a
+ * SELECT on every request; changes made on this node are evicted at once.
+ *
+ * Only the identity is kept (id, email, name, role), never the entity with
+ * its password hash; hits hand out a detached {@link User} built from it,
+ * as {@link VerifiedToken#toPrincipal()} does.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${jwt.principal-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${jwt.principal-cache.ttl:PT1M}")
+    private Duration ttl;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public User get(String email, Function<String, User> loader) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(email);
+            if (entry != null && now - entry.loadedAt < ttl.toNanos()) {
+                return entry.toPrincipal();
+            }
+        }
+        User user = loader.apply(email);
+        Entry entry = new Entry(user.getId(), user.getEmail(), user.getFullName(), user.getRole(), now);
+        synchronized (entries) {
+            entries.put(email, entry);
+        }
+        return entry.toPrincipal();
+    }
+
+    /**
+     * Forgets a user after it was changed or deleted, so the next request
+     * loads it again.
+     */
+    public void evict(String email) {
+        synchronized (entries) {
+            entries.remove(email);
+        }
+    }
+
+    private record Entry(Long id, String email, String fullName, User.Role role, long loadedAt) {
+
+        User toPrincipal() {
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .fullName(fullName)
+                    .role(role)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ats.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Lets a metrics scraper in with {@code Authorization: Bearer <token>} where
+ * the token is {@code metrics.scrape-token}. With no token configured every
+ * request is refused, so the endpoint is closed unless a scraper is set up.
+ */
+@Component
+public class ScrapeTokenAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] token;
+
+    public ScrapeTokenAuthorizationManager(@Value("${metrics.scrape-token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication,
+            RequestAuthorizationContext context) {
+        return new AuthorizationDecision(matches(context.getRequest()));
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (token.length == 0 || header == null || !header.startsWith(BEARER)) {
+            return false;
+        }
+        // Constant time, so the token cannot be guessed byte by byte from response times
+        return MessageDigest.isEqual(token, header.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
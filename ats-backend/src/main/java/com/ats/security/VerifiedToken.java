@@ -0,0 +1,32 @@
+package com.ats.security;
+
+import com.ats.model.User;
+
+import java.time.Instant;
+
+/**
+ * Immutable result of verifying a JWT once: the subject, the identity claims
+ * and the expiry. Safe to share between threads and to cache until it expires.
+ */
+public record VerifiedToken(String subject, Long userId, String role, String fullName, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Rebuilds the principal without a database lookup. Returns {@code null}
+     * for tokens issued before the identity claims existed.
+     */
+    public User toPrincipal() {
+        if (userId == null || role == null) {
+            return null;
+        }
+        return User.builder()
+                .id(userId)
+                .email(subject)
+                .fullName(fullName)
+                .role(User.Role.valueOf(role))
+                .build();
+    }
+}
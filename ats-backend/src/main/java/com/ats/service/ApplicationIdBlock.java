@@ -0,0 +1,33 @@
+package com.ats.service;
+
+import com.ats.model.Application;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Hands out application ids for JDBC inserts the way Hibernate's pooled
+ * optimizer does: each {@code nextval} reserves the
+ * {@link Application#ID_ALLOCATION_SIZE} ids ending at the returned value, so
+ * JDBC and JPA inserts never overlap. Not thread-safe; use one per writer.
+ */
+final class ApplicationIdBlock {
+
+    private final JdbcTemplate jdbcTemplate;
+    private long next = 1;
+    private long last = 0;
+
+    ApplicationIdBlock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    long next() {
+        if (next > last) {
+            long hi;
+            do {
+                hi = jdbcTemplate.queryForObject("SELECT nextval('applications_seq')", Long.class);
+            } while (hi < Application.ID_ALLOCATION_SIZE);
+            next = hi - Application.ID_ALLOCATION_SIZE + 1;
+            last = hi;
+        }
+        return next++;
+    }
+}
@@ -0,0 +1,407 @@
+package com.ats.service;
+
+import com.ats.dto.IntakeStatus;
+import com.ats.dto.IntakeStatus.State;
+import com.ats.event.ApplicationSubmittedEvent;
+import com.ats.model.Application;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.JobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Asynchronous intake for {@code POST /api/jobs/{id}/apply} when
+ * {@code intake.mode=async}.
+ *
+ * The request thread validates, stores the resume and enqueues; a single
+ * writer drains the bounded queue and inserts whole batches in one
+ * transaction (sequence ids, JDBC batching), falling back to row-by-row only
+ * to isolate a failing row. A full queue rejects new submissions with 503
+ * instead of piling up request threads, and shutdown drains what was
+ * accepted before the context closes.
+ *
+ * Tracking state is held per node for {@code intake.status-retention}, for at
+ * most {@code intake.max-tracked} submissions; past that the oldest finished
+ * ones are forgotten early.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApplicationIntakeService {
+
+    private static final int RETRY_AFTER_SECONDS = 2;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ApplicationRepository applicationRepository;
+    private final JobRepository jobRepository;
+    private final FileStorageService fileStorageService;
+    private final DuplicateApplicationGuard duplicateApplicationGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${intake.mode:sync}")
+    private String mode;
+
+    @Value("${intake.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${intake.batch-size:200}")
+    private int batchSize;
+
+    @Value("${intake.flush-interval:PT0.2S}")
+    private Duration flushInterval;
+
+    @Value("${intake.offer-timeout:PT0.5S}")
+    private Duration offerTimeout;
+
+    @Value("${intake.status-retention:PT1H}")
+    private Duration statusRetention;
+
+    @Value("${intake.max-tracked:100000}")
+    private int maxTracked;
+
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    // In the order the writer finished them, which is also finishedAt order
+    private final Queue<Ticket> finished = new ConcurrentLinkedQueue<>();
+    // Submitters hold the read side from the running check to the enqueue, so stop() cannot slip in between
+    private final ReadWriteLock accepting = new ReentrantReadWriteLock();
+    private BlockingQueue<Ticket> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!isAsync()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writer = new Thread(this::drainLoop, "application-intake-writer");
+        writer.start();
+    }
+
+    /**
+     * Stops accepting work and lets the writer flush everything already queued.
+     * Whatever it cannot flush in time is failed, so no ticket stays queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        accepting.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            accepting.writeLock().unlock();
+        }
+        writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        List<Ticket> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            log.error("Intake writer stopped with {} application(s) still queued", leftover.size());
+            for (Ticket ticket : leftover) {
+                ticket.failed("Application could not be stored");
+                finished.add(ticket);
+                discardQuietly(ticket.resumePath);
+                duplicateApplicationGuard.release(ticket.claim);
+            }
+        }
+    }
+
+    public boolean isAsync() {
+        return "async".equalsIgnoreCase(mode);
+    }
+
+    public IntakeStatus submit(Long jobId, String candidateName, String candidateEmail, MultipartFile resume) {
+        if (candidateName == null || candidateName.isBlank()) {
+            throw new RuntimeException("Name is required");
+        }
+        if (candidateEmail == null || candidateEmail.isBlank()) {
+            throw new RuntimeException("Email is required");
+        }
+        Boolean active = jobRepository.findActiveFlagById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+        if (!active) {
+            throw new RuntimeException("This job is no longer accepting applications");
+        }
+        if (!running) {
+            throw shuttingDown();
+        }
+        if (queue.remainingCapacity() == 0 || !makeRoomForTicket()) {
+            throw overloaded();
+        }
+
+        // Held until the writer is done with the ticket
+        String claim = duplicateApplicationGuard.claim(jobId, candidateEmail);
+        String resumePath = null;
+        String resumeOriginalName = null;
+        if (resume != null && !resume.isEmpty()) {
+            try {
+                resumePath = fileStorageService.storeFile(resume);
+            } catch (RuntimeException ex) {
+                duplicateApplicationGuard.release(claim);
+                throw ex;
+            }
+            resumeOriginalName = resume.getOriginalFilename();
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), jobId, candidateName, candidateEmail,
+                resumePath, resumeOriginalName, LocalDateTime.now(), claim);
+        tickets.put(ticket.trackingId, ticket);
+        accepting.readLock().lock();
+        try {
+            if (!running) {
+                abandon(ticket);
+                throw shuttingDown();
+            }
+            if (!queue.offer(ticket, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                abandon(ticket);
+                throw overloaded();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            abandon(ticket);
+            throw overloaded();
+        } finally {
+            accepting.readLock().unlock();
+        }
+        return ticket.toStatus();
+    }
+
+    public IntakeStatus getStatus(String trackingId) {
+        Ticket ticket = tickets.get(trackingId);
+        if (ticket == null) {
+            throw new RuntimeException("Unknown tracking id");
+        }
+        return ticket.toStatus();
+    }
+
+    @Scheduled(fixedDelayString = "${intake.purge-interval:PT1M}")
+    public void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(statusRetention);
+        Ticket oldest;
+        while ((oldest = finished.peek()) != null && oldest.finishedAt.isBefore(cutoff)) {
+            forget(finished.poll());
+        }
+    }
+
+    /**
+     * Forgets the oldest finished tickets while the map is at its bound.
+     * Returns false when everything tracked is still queued.
+     */
+    private boolean makeRoomForTicket() {
+        while (tickets.size() >= maxTracked) {
+            Ticket oldest = finished.poll();
+            if (oldest == null) {
+                return false;
+            }
+            forget(oldest);
+        }
+        return true;
+    }
+
+    private void forget(Ticket ticket) {
+        if (ticket != null) {
+            tickets.remove(ticket.trackingId);
+        }
+    }
+
+    private void drainLoop() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Ticket first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException ex) {
+                log.error("Intake writer failed on a batch of {}", batch.size(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Ticket> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            for (Ticket ticket : batch) {
+                if (ticket.resumePath != null) {
+                    fileStorageService.confirm(ticket.resumePath);
+                }
+                ticket.accepted();
+                finished.add(ticket);
+                duplicateApplicationGuard.release(ticket.claim);
+            }
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                Ticket ticket = batch.get(0);
+                if (DuplicateApplicationGuard.isDuplicate(ex)) {
+                    // Submitted through another node meanwhile
+                    ticket.failed(duplicateApplicationGuard.duplicate().getReason());
+                } else {
+                    log.warn("Could not store application {} for job {}", ticket.trackingId, ticket.jobId, ex);
+                    ticket.failed("Application could not be stored");
+                }
+                finished.add(ticket);
+                discardQuietly(ticket.resumePath);
+                duplicateApplicationGuard.release(ticket.claim);
+                return;
+            }
+            // Retry one by one so a single bad row (e.g. job deleted meanwhile) does not sink the batch
+            for (Ticket ticket : batch) {
+                write(List.of(ticket));
+            }
+        }
+    }
+
+    private void insert(List<Ticket> batch) {
+        List<Application> applications = new ArrayList<>(batch.size());
+        for (Ticket ticket : batch) {
+            applications.add(Application.builder()
+                    .candidateName(ticket.candidateName)
+                    .candidateEmail(ticket.candidateEmail)
+                    .resumePath(ticket.resumePath)
+                    .resumeOriginalName(ticket.resumeOriginalName)
+                    .submittedAt(ticket.submittedAt)
+                    .job(jobRepository.getReferenceById(ticket.jobId))
+                    .build());
+        }
+        applicationRepository.saveAll(applications);
+        applicationRepository.flush();
+
+        Map<Long, Long> perJob = batch.stream()
+                .collect(Collectors.groupingBy(ticket -> ticket.jobId, Collectors.counting()));
+        perJob.forEach(jobRepository::addApplicationCount);
+
+        for (int i = 0; i < batch.size(); i++) {
+            Ticket ticket = batch.get(i);
+            Application saved = applications.get(i);
+            ticket.applicationId = saved.getId();
+            eventPublisher.publishEvent(new ApplicationSubmittedEvent(saved.getId(), ticket.jobId,
+                    saved.getCandidateName(), saved.getCandidateEmail(), saved.getStatus(), saved.getSubmittedAt()));
+        }
+    }
+
+    private void abandon(Ticket ticket) {
+        tickets.remove(ticket.trackingId);
+        discardQuietly(ticket.resumePath);
+        duplicateApplicationGuard.release(ticket.claim);
+    }
+
+    private void discardQuietly(String resumePath) {
+        if (resumePath == null) {
+            return;
+        }
+        try {
+            fileStorageService.discard(resumePath);
+        } catch (RuntimeException ex) {
+            log.warn("Could not discard resume {}", resumePath, ex);
+        }
+    }
+
+    private ResponseStatusException overloaded() {
+        return unavailable("Too many applications right now, please retry shortly");
+    }
+
+    private ResponseStatusException shuttingDown() {
+        return unavailable("Not accepting applications right now, please retry shortly");
+    }
+
+    private ResponseStatusException unavailable(String reason) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, reason) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private static final class Ticket {
+        private final String trackingId;
+        private final Long jobId;
+        private final String candidateName;
+        private final String candidateEmail;
+        private final String resumePath;
+        private final String resumeOriginalName;
+        private final LocalDateTime submittedAt;
+        private final String claim;
+        private volatile State state = State.QUEUED;
+        private volatile Long applicationId;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        Ticket(String trackingId, Long jobId, String candidateName, String candidateEmail,
+                String resumePath, String resumeOriginalName, LocalDateTime submittedAt, String claim) {
+            this.trackingId = trackingId;
+            this.jobId = jobId;
+            this.candidateName = candidateName;
+            this.candidateEmail = candidateEmail;
+            this.resumePath = resumePath;
+            this.resumeOriginalName = resumeOriginalName;
+            this.submittedAt = submittedAt;
+            this.claim = claim;
+        }
+
+        void accepted() {
+            state = State.ACCEPTED;
+            finishedAt = LocalDateTime.now();
+        }
+
+        void failed(String reason) {
+            applicationId = null;
+            error = reason;
+            state = State.FAILED;
+            finishedAt = LocalDateTime.now();
+        }
+
+        IntakeStatus toStatus() {
+            return IntakeStatus.builder()
+                    .trackingId(trackingId)
+                    .jobId(jobId)
+                    .state(state)
+                    .applicationId(state == State.ACCEPTED ? applicationId : null)
+                    .error(error)
+                    .build();
+        }
+    }
+}
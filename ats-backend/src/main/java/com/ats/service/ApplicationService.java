@@ -1,56 +1,159 @@
 package com.ats.service;
 
 import com.ats.dto.ApplicationDto;
+import com.ats.dto.BulkStatusUpdateRequest;
+import com.ats.dto.BulkStatusUpdateResult;
+import com.ats.dto.CursorPage;
 import com.ats.dto.DashboardStats;
+import com.ats.event.ApplicationStatusChangedEvent;
+import com.ats.event.ApplicationStatusesBulkChangedEvent;
+import com.ats.event.ApplicationSubmittedEvent;
 import com.ats.model.Application;
 import com.ats.model.Application.ApplicationStatus;
 import com.ats.model.Job;
 import com.ats.repository.ApplicationRepository;
+import com.ats.repository.ApplicationRepository.StatusRow;
 import com.ats.repository.JobRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.util.Arrays;
-import java.util.LinkedHashMap;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ApplicationService {
 
+        // Keeps IN lists well inside driver and planner limits
+        private static final int BULK_CHUNK_SIZE = 1000;
+
+        // Index page lookups per search when ids turn out to be deleted
+        private static final int MAX_SEARCH_LOOKUPS = 3;
+
         private final ApplicationRepository applicationRepository;
         private final JobRepository jobRepository;
         private final FileStorageService fileStorageService;
+        private final DashboardStatsEngine dashboardStatsEngine;
+        private final CandidateSearchIndex candidateSearchIndex;
+        private final DuplicateApplicationGuard duplicateApplicationGuard;
+        private final ApplicationEventPublisher eventPublisher;
+        private final EntityManager entityManager;
+        private final JsonMapper jsonMapper;
+
+        @Value("${pagination.default-size:50}")
+        private int defaultPageSize;
+
+        @Value("${pagination.max-size:200}")
+        private int maxPageSize;
 
+        @Value("${applications.bulk-status.max-ids:10000}")
+        private int maxBulkIds;
+
+        @Transactional(readOnly = true)
         public List<ApplicationDto> getAllApplications() {
-                return applicationRepository.findAll()
-                                .stream()
-                                .map(this::toDto)
-                                .collect(Collectors.toList());
+                return applicationRepository.findAllDtos();
         }
 
-        public List<ApplicationDto> getApplicationsByFilters(Long jobId, ApplicationStatus status) {
-                return applicationRepository.findByFilters(jobId, status)
-                                .stream()
-                                .map(this::toDto)
-                                .collect(Collectors.toList());
+        @Transactional(readOnly = true)
+        public CursorPage<ApplicationDto> getApplicationsByFilters(Long jobId, ApplicationStatus status,
+                        String cursor, Integer size) {
+                int pageSize = resolvePageSize(size);
+                Limit limit = Limit.of(pageSize + 1);
+                List<ApplicationDto> rows;
+                if (cursor == null || cursor.isBlank()) {
+                        rows = applicationRepository.findFirstPageByFilters(jobId, status, limit);
+                } else {
+                        PageCursor after = PageCursor.decode(cursor);
+                        rows = applicationRepository.findPageByFiltersAfter(jobId, status,
+                                        after.submittedAt(), after.id(), limit);
+                }
+                return toPage(rows, pageSize);
         }
 
-        public List<ApplicationDto> searchApplications(String query) {
-                return applicationRepository.searchByNameOrEmail(query)
-                                .stream()
-                                .map(this::toDto)
-                                .collect(Collectors.toList());
+        @Transactional(readOnly = true)
+        public CursorPage<ApplicationDto> searchApplications(String query, String cursor, Integer size) {
+                int pageSize = resolvePageSize(size);
+                // A search stays on the source that served its first page: the two order results differently
+                boolean firstPage = cursor == null || cursor.isBlank();
+                if (firstPage || CandidateSearchIndex.isIndexCursor(cursor)) {
+                        if (candidateSearchIndex.canServe(query)) {
+                                return searchIndexed(query, cursor, pageSize);
+                        }
+                        // The index is rebuilding; its cursor means nothing to the database, so start over there
+                        cursor = null;
+                }
+                Limit limit = Limit.of(pageSize + 1);
+                List<ApplicationDto> rows;
+                if (cursor == null || cursor.isBlank()) {
+                        rows = applicationRepository.searchFirstPageByNameOrEmail(query, limit);
+                } else {
+                        PageCursor after = PageCursor.decode(cursor);
+                        rows = applicationRepository.searchPageByNameOrEmailAfter(query,
+                                        after.submittedAt(), after.id(), limit);
+                }
+                return toPage(rows, pageSize);
+        }
+
+        /**
+         * Writes every application matching the filters to {@code out} straight
+         * from a forward-only cursor. The persistence context is cleared after
+         * each fetch window, so memory stays flat regardless of the row count.
+         */
+        @Transactional(readOnly = true)
+        public long exportApplications(Long jobId, ApplicationStatus status, DataFormat format,
+                        OutputStream out) throws IOException {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+                long rows = 0;
+                if (format == DataFormat.CSV) {
+                        writer.write("id,candidateName,candidateEmail,status,submittedAt,jobId,jobTitle,"
+                                        + "resumeOriginalName,resumeDownloadUrl\r\n");
+                }
+                try (Stream<Application> stream = applicationRepository.streamByFilters(jobId, status)) {
+                        for (Application application : (Iterable<Application>) stream::iterator) {
+                                ApplicationDto dto = toDto(application);
+                                if (format == DataFormat.CSV) {
+                                        writeCsvRow(writer, dto);
+                                } else {
+                                        writer.write(jsonMapper.writeValueAsString(dto));
+                                        writer.write('\n');
+                                }
+                                if (++rows % ApplicationRepository.EXPORT_FETCH_SIZE == 0) {
+                                        entityManager.clear();
+                                }
+                        }
+                }
+                writer.flush();
+                return rows;
         }
 
+        @Transactional(readOnly = true)
         public ApplicationDto getApplicationById(Long id) {
-                Application application = applicationRepository.findById(id)
+                return applicationRepository.findDtoById(id)
                                 .orElseThrow(() -> new RuntimeException("Application not found"));
-                return toDto(application);
         }
 
         @Transactional
@@ -63,12 +166,24 @@ public class ApplicationService {
                         throw new RuntimeException("This job is no longer accepting applications");
                 }
 
+                // Held until commit or rollback, so a double submit never reaches the upload
+                String claim = duplicateApplicationGuard.claim(jobId, candidateEmail);
+                afterCompletion(committed -> duplicateApplicationGuard.release(claim));
+
                 String resumePath = null;
                 String resumeOriginalName = null;
 
                 if (resume != null && !resume.isEmpty()) {
                         resumePath = fileStorageService.storeFile(resume);
                         resumeOriginalName = resume.getOriginalFilename();
+                        String storedPath = resumePath;
+                        afterCompletion(committed -> {
+                                if (committed) {
+                                        fileStorageService.confirm(storedPath);
+                                } else {
+                                        fileStorageService.discard(storedPath);
+                                }
+                        });
                 }
 
                 Application application = Application.builder()
@@ -79,7 +194,20 @@ public class ApplicationService {
                                 .job(job)
                                 .build();
 
-                Application saved = applicationRepository.save(application);
+                Application saved;
+                try {
+                        // Flushed here so a submit racing on another node fails on the unique index as a 409
+                        saved = applicationRepository.saveAndFlush(application);
+                } catch (DataIntegrityViolationException ex) {
+                        if (DuplicateApplicationGuard.isDuplicate(ex)) {
+                                throw duplicateApplicationGuard.duplicate();
+                        }
+                        throw ex;
+                }
+                jobRepository.incrementApplicationCount(jobId);
+                eventPublisher.publishEvent(new ApplicationSubmittedEvent(saved.getId(), jobId,
+                                saved.getCandidateName(), saved.getCandidateEmail(), saved.getStatus(),
+                                saved.getSubmittedAt()));
                 return toDto(saved);
         }
 
@@ -88,33 +216,212 @@ public class ApplicationService {
                 Application application = applicationRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Application not found"));
 
+                ApplicationStatus previousStatus = application.getStatus();
                 application.setStatus(status);
                 Application saved = applicationRepository.save(application);
+                eventPublisher.publishEvent(new ApplicationStatusChangedEvent(saved.getId(),
+                                saved.getJob().getId(), previousStatus, status));
                 return toDto(saved);
         }
 
+        /**
+         * Moves many applications to one status with set-based UPDATEs. The
+         * affected rows are locked and read first so each id gets its own
+         * outcome; the number of statements grows with ids / BULK_CHUNK_SIZE.
+         */
+        @Transactional
+        public BulkStatusUpdateResult updateStatuses(BulkStatusUpdateRequest request) {
+                ApplicationStatus target = request.getStatus();
+                List<Long> requestedIds;
+                List<StatusRow> rows;
+                if (request.getIds() != null && !request.getIds().isEmpty()) {
+                        requestedIds = request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+                        if (requestedIds.size() > maxBulkIds) {
+                                throw new RuntimeException("At most " + maxBulkIds + " applications can be updated at once");
+                        }
+                        rows = new ArrayList<>(requestedIds.size());
+                        for (List<Long> chunk : chunks(requestedIds)) {
+                                rows.addAll(applicationRepository.lockStatusRowsByIds(chunk));
+                        }
+                } else if (request.getJobId() != null && request.getCurrentStatus() != null) {
+                        // One row past the cap tells an oversized filter apart; nothing beyond it is locked
+                        rows = applicationRepository.lockStatusRowsByJobAndStatus(request.getJobId(),
+                                        request.getCurrentStatus(), Limit.of(maxBulkIds + 1));
+                        if (rows.size() > maxBulkIds) {
+                                throw new RuntimeException("At most " + maxBulkIds + " applications can be updated at once");
+                        }
+                        requestedIds = rows.stream().map(StatusRow::getId).toList();
+                } else {
+                        throw new RuntimeException("Either ids or jobId and currentStatus are required");
+                }
+
+                Map<Long, ApplicationStatus> previousById = new HashMap<>();
+                for (StatusRow row : rows) {
+                        previousById.put(row.getId(), row.getStatus());
+                }
+                List<Long> toUpdate = requestedIds.stream()
+                                .filter(id -> previousById.containsKey(id) && previousById.get(id) != target)
+                                .toList();
+                for (List<Long> chunk : chunks(toUpdate)) {
+                        applicationRepository.updateStatusByIds(chunk, target);
+                }
+
+                List<BulkStatusUpdateResult.Item> results = new ArrayList<>(requestedIds.size());
+                Map<ApplicationStatus, Long> movedFrom = new EnumMap<>(ApplicationStatus.class);
+                int updated = 0;
+                int unchanged = 0;
+                int notFound = 0;
+                for (Long id : requestedIds) {
+                        ApplicationStatus previous = previousById.get(id);
+                        BulkStatusUpdateResult.Outcome outcome;
+                        if (!previousById.containsKey(id)) {
+                                outcome = BulkStatusUpdateResult.Outcome.NOT_FOUND;
+                                notFound++;
+                        } else if (previous == target) {
+                                outcome = BulkStatusUpdateResult.Outcome.UNCHANGED;
+                                unchanged++;
+                        } else {
+                                outcome = BulkStatusUpdateResult.Outcome.UPDATED;
+                                movedFrom.merge(previous, 1L, Long::sum);
+                                updated++;
+                        }
+                        results.add(new BulkStatusUpdateResult.Item(id, previous, outcome));
+                }
+
+                if (!movedFrom.isEmpty()) {
+                        eventPublisher.publishEvent(new ApplicationStatusesBulkChangedEvent(target, movedFrom));
+                }
+                return BulkStatusUpdateResult.builder()
+                                .status(target)
+                                .updated(updated)
+                                .unchanged(unchanged)
+                                .notFound(notFound)
+                                .results(results)
+                                .build();
+        }
+
         public DashboardStats getDashboardStats() {
-                long totalJobs = jobRepository.count();
-                long activeJobs = jobRepository.countByActiveTrue();
-                long totalApplications = applicationRepository.count();
-
-                Map<String, Long> applicationsByStatus = new LinkedHashMap<>();
-                Arrays.stream(ApplicationStatus.values()).forEach(
-                                status -> applicationsByStatus.put(status.name(),
-                                                applicationRepository.countByStatus(status)));
-
-                Map<String, Long> recentApplicationsByJob = new LinkedHashMap<>();
-                jobRepository.findByActiveTrueOrderByCreatedAtDesc().stream()
-                                .limit(5)
-                                .forEach(job -> recentApplicationsByJob.put(job.getTitle(),
-                                                applicationRepository.countByJobId(job.getId())));
-
-                return DashboardStats.builder()
-                                .totalJobs(totalJobs)
-                                .activeJobs(activeJobs)
-                                .totalApplications(totalApplications)
-                                .applicationsByStatus(applicationsByStatus)
-                                .recentApplicationsByJob(recentApplicationsByJob)
+                return dashboardStatsEngine.snapshot();
+        }
+
+        /**
+         * Ranked ids come from the in-memory trigram index; only the rows on the
+         * page are loaded. Ids the database no longer has are evicted from the index
+         * and the page is looked up again, so deletions do not leave it short.
+         */
+        private CursorPage<ApplicationDto> searchIndexed(String query, String cursor, int pageSize) {
+                CandidateSearchIndex.SearchPage page;
+                List<ApplicationDto> items;
+                int lookups = 0;
+                while (true) {
+                        page = candidateSearchIndex.search(query, cursor, pageSize);
+                        Map<Long, ApplicationDto> byId = applicationRepository.findDtosByIds(page.ids()).stream()
+                                        .collect(Collectors.toMap(ApplicationDto::getId, Function.identity()));
+
+                        items = new ArrayList<>(byId.size());
+                        List<Long> missing = new ArrayList<>();
+                        for (Long id : page.ids()) {
+                                ApplicationDto dto = byId.get(id);
+                                if (dto != null) {
+                                        items.add(dto);
+                                } else {
+                                        missing.add(id);
+                                }
+                        }
+                        if (missing.isEmpty()) {
+                                break;
+                        }
+                        candidateSearchIndex.remove(missing);
+                        // Bounded so a burst of deletions cannot turn one search into many queries
+                        if (++lookups == MAX_SEARCH_LOOKUPS) {
+                                break;
+                        }
+                }
+
+                return CursorPage.<ApplicationDto>builder()
+                                .items(items)
+                                .nextCursor(page.nextCursor())
+                                .size(items.size())
+                                .build();
+        }
+
+        private static void writeCsvRow(Writer writer, ApplicationDto dto) throws IOException {
+                writer.write(String.valueOf(dto.getId()));
+                writer.write(',');
+                writeCsvField(writer, dto.getCandidateName());
+                writer.write(',');
+                writeCsvField(writer, dto.getCandidateEmail());
+                writer.write(',');
+                writeCsvField(writer, dto.getStatus() != null ? dto.getStatus().name() : null);
+                writer.write(',');
+                writeCsvField(writer, dto.getSubmittedAt() != null ? dto.getSubmittedAt().toString() : null);
+                writer.write(',');
+                writeCsvField(writer, dto.getJobId() != null ? dto.getJobId().toString() : null);
+                writer.write(',');
+                writeCsvField(writer, dto.getJobTitle());
+                writer.write(',');
+                writeCsvField(writer, dto.getResumeOriginalName());
+                writer.write(',');
+                writeCsvField(writer, dto.getResumeDownloadUrl());
+                writer.write("\r\n");
+        }
+
+        // RFC 4180: quote fields containing a delimiter, quote or line break
+        private static void writeCsvField(Writer writer, String value) throws IOException {
+                if (value == null) {
+                        return;
+                }
+                if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                        writer.write(value);
+                        return;
+                }
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+        }
+
+        private static List<List<Long>> chunks(List<Long> ids) {
+                List<List<Long>> chunks = new ArrayList<>((ids.size() + BULK_CHUNK_SIZE - 1) / BULK_CHUNK_SIZE);
+                for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                        chunks.add(ids.subList(from, Math.min(ids.size(), from + BULK_CHUNK_SIZE)));
+                }
+                return chunks;
+        }
+
+        // Runs once the surrounding transaction has committed (true) or rolled back (false)
+        private static void afterCompletion(Consumer<Boolean> action) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                                action.accept(status == STATUS_COMMITTED);
+                        }
+                });
+        }
+
+        private int resolvePageSize(Integer size) {
+                if (size == null || size <= 0) {
+                        return defaultPageSize;
+                }
+                return Math.min(size, maxPageSize);
+        }
+
+        /**
+         * Rows are fetched with one extra element so the presence of a next page
+         * can be decided without a COUNT query.
+         */
+        private CursorPage<ApplicationDto> toPage(List<ApplicationDto> rows, int pageSize) {
+                boolean hasMore = rows.size() > pageSize;
+                List<ApplicationDto> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+                String nextCursor = null;
+                if (hasMore) {
+                        ApplicationDto last = pageRows.get(pageRows.size() - 1);
+                        nextCursor = new PageCursor(last.getSubmittedAt(), last.getId()).encode();
+                }
+                return CursorPage.<ApplicationDto>builder()
+                                .items(new ArrayList<>(pageRows))
+                                .nextCursor(nextCursor)
+                                .size(pageRows.size())
                                 .build();
         }
 
@@ -6,6 +6,8 @@ import com.ats.dto.RegisterRequest;
 import com.ats.model.User;
 import com.ats.repository.UserRepository;
 import com.ats.security.JwtUtil;
+import com.ats.security.LoginThrottle;
+import com.ats.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,8 +22,11 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottle loginThrottle;
+    private final PrincipalCache principalCache;
 
-    public AuthResponse register(RegisterRequest request) {
+    public AuthResponse register(RegisterRequest request, String clientAddress) {
+        loginThrottle.acquire(clientAddress, null);
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already registered");
         }
@@ -33,6 +38,8 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        // Drops whatever an earlier account under this email left behind
+        principalCache.evict(user.getEmail());
 
         String token = jwtUtil.generateToken(user);
 
@@ -43,12 +50,16 @@ public class AuthService {
                 .build();
     }
 
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientAddress) {
+        LoginThrottle.Attempt attempt = loginThrottle.acquire(clientAddress, request.getEmail());
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        attempt.succeeded();
 
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        // Signing in picks up a changed role or name on the next request
+        principalCache.evict(user.getEmail());
 
         String token = jwtUtil.generateToken(user);
 
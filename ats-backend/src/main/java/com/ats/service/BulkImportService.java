@@ -0,0 +1,433 @@
+package com.ats.service;
+
+import com.ats.dto.ApplicationDto;
+import com.ats.dto.ImportResult;
+import com.ats.dto.ImportResult.RowError;
+import com.ats.dto.JobDto;
+import com.ats.event.ApplicationSubmittedEvent;
+import com.ats.event.JobSavedEvent;
+import com.ats.model.Application.ApplicationStatus;
+import com.ats.model.User;
+import com.ats.repository.JobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of jobs and applications for migrations.
+ *
+ * The request body is parsed one row at a time. Each row is bound to the same
+ * {@link JobDto} / {@link ApplicationDto} the API accepts and checked against
+ * their validation rules, then written with plain JDBC batch inserts, one
+ * transaction per {@code import.chunk-size} rows; no entities are built.
+ * Repeats of a (job, email) pair are turned away before they reach a chunk:
+ * within the chunk being filled by a set of its keys, against committed
+ * chunks by the {@link DuplicateApplicationGuard}. A chunk that still fails
+ * is split in halves until the offending rows are isolated, so one bad row
+ * costs a few extra transactions rather than one per row. Counters,
+ * statistics and the search index are kept current through the usual
+ * after-commit events.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkImportService {
+
+    private static final String INSERT_JOB = "INSERT INTO jobs "
+            + "(title, description, active, created_at, application_count, created_by) VALUES (?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_APPLICATION = "INSERT INTO applications "
+            + "(id, candidate_name, candidate_email, resume_original_name, status, submitted_at, job_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobRepository jobRepository;
+    private final DuplicateApplicationGuard duplicateApplicationGuard;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${import.max-mapped-job-ids:100000}")
+    private int maxMappedJobIds;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportResult importJobs(InputStream body, DataFormat format, User user) throws IOException {
+        Map<Long, Long> idsBySourceId = new LinkedHashMap<>();
+        AtomicBoolean truncated = new AtomicBoolean();
+        ImportResult result = run(body, format, JobDto.class, job -> null, chunk -> {
+            List<Long> ids = insertJobs(chunk, user);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (chunk.get(i).getId() == null) {
+                    continue;
+                }
+                // Bounded like the error list; larger files should be split to keep their whole mapping
+                if (idsBySourceId.size() < maxMappedJobIds || idsBySourceId.containsKey(chunk.get(i).getId())) {
+                    idsBySourceId.put(chunk.get(i).getId(), ids.get(i));
+                } else {
+                    truncated.set(true);
+                }
+            }
+        });
+        result.setJobIdsBySourceId(idsBySourceId);
+        result.setJobIdsTruncated(truncated.get());
+        return result;
+    }
+
+    public ImportResult importApplications(InputStream body, DataFormat format) throws IOException {
+        Map<Long, Boolean> knownJobs = new HashMap<>();
+        // (job, email) pairs of the chunk being filled; earlier chunks are committed and known to the guard
+        Set<String> chunkApplicants = new HashSet<>();
+        ApplicationIdBlock ids = new ApplicationIdBlock(jdbcTemplate);
+        return run(body, format, ApplicationDto.class, application -> {
+            if (application.getJobId() == null) {
+                return "jobId is required";
+            }
+            if (!knownJobs.computeIfAbsent(application.getJobId(), jobRepository::existsById)) {
+                return "Job not found: " + application.getJobId();
+            }
+            if (application.getCandidateEmail() != null && !chunkApplicants.add(
+                    application.getJobId() + ":" + application.getCandidateEmail().toLowerCase(Locale.ROOT))) {
+                return "Candidate appears earlier in this file for job " + application.getJobId();
+            }
+            if (duplicateApplicationGuard.hasApplied(application.getJobId(), application.getCandidateEmail())) {
+                return "Candidate has already applied to job " + application.getJobId();
+            }
+            return null;
+        }, chunk -> {
+            // Every row of the chunk has been checked by now
+            chunkApplicants.clear();
+            insertApplications(chunk, ids);
+        });
+    }
+
+    private <T> ImportResult run(InputStream body, DataFormat format, Class<T> type,
+            RowCheck<T> check, ChunkWriter<T> writer) throws IOException {
+        long started = System.nanoTime();
+        Counters counters = new Counters();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        RowReader<T> rows = format == DataFormat.CSV ? new CsvRows<>(reader, type) : new NdjsonRows<>(reader, type);
+        Row<T> row;
+        while ((row = rows.next()) != null) {
+            counters.received++;
+            String error = row.error != null ? row.error : validate(row.value, check);
+            if (error != null) {
+                counters.fail(row.line, error);
+                continue;
+            }
+            chunk.add(row.value);
+            chunkLines.add(row.line);
+            if (chunk.size() == chunkSize) {
+                flush(chunk, chunkLines, writer, counters);
+            }
+        }
+        flush(chunk, chunkLines, writer, counters);
+
+        long elapsedNanos = System.nanoTime() - started;
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000d;
+        log.info("Imported {} {} row(s) in {} ms ({} failed)", counters.imported, type.getSimpleName(),
+                elapsedNanos / 1_000_000, counters.failed);
+        return ImportResult.builder()
+                .received(counters.received)
+                .imported(counters.imported)
+                .failed(counters.failed)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(Math.round(counters.imported / seconds * 10) / 10d)
+                .errors(counters.errors)
+                .build();
+    }
+
+    private <T> void flush(List<T> chunk, List<Long> lines, ChunkWriter<T> writer, Counters counters) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> writer.write(chunk));
+            counters.imported += chunk.size();
+        } catch (RuntimeException ex) {
+            if (chunk.size() == 1) {
+                // An application committed meanwhile by someone else is only caught by the unique index
+                counters.fail(lines.get(0), writeFailure(lines.get(0), ex));
+            } else {
+                int half = chunk.size() / 2;
+                flush(new ArrayList<>(chunk.subList(0, half)), new ArrayList<>(lines.subList(0, half)),
+                        writer, counters);
+                flush(new ArrayList<>(chunk.subList(half, chunk.size())),
+                        new ArrayList<>(lines.subList(half, lines.size())), writer, counters);
+            }
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private <T> String validate(T value, RowCheck<T> check) {
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return check.problem(value);
+    }
+
+    private List<Long> insertJobs(List<JobDto> jobs, User user) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_JOB, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        JobDto job = jobs.get(i);
+                        ps.setString(1, job.getTitle());
+                        ps.setString(2, job.getDescription());
+                        ps.setBoolean(3, job.getActive() == null || job.getActive());
+                        ps.setTimestamp(4, Timestamp.valueOf(job.getCreatedAt() != null ? job.getCreatedAt() : now));
+                        ps.setLong(5, user.getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return jobs.size();
+                    }
+                }, keys);
+
+        List<Long> ids = new ArrayList<>(jobs.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.get(key.containsKey("id") ? "id" : "ID")).longValue());
+        }
+        for (int i = 0; i < jobs.size(); i++) {
+            JobDto job = jobs.get(i);
+            eventPublisher.publishEvent(new JobSavedEvent(ids.get(i), job.getTitle(),
+                    job.getActive() == null || job.getActive(),
+                    job.getCreatedAt() != null ? job.getCreatedAt() : now, true));
+        }
+        return ids;
+    }
+
+    private void insertApplications(List<ApplicationDto> applications, ApplicationIdBlock idBlock) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> args = new ArrayList<>(applications.size());
+        Map<Long, Long> perJob = new HashMap<>();
+        for (ApplicationDto application : applications) {
+            long id = idBlock.next();
+            ApplicationStatus status = application.getStatus() != null ? application.getStatus() : ApplicationStatus.NEW;
+            LocalDateTime submittedAt = application.getSubmittedAt() != null ? application.getSubmittedAt() : now;
+            args.add(new Object[] { id, application.getCandidateName(), application.getCandidateEmail(),
+                    application.getResumeOriginalName(), status.name(), Timestamp.valueOf(submittedAt),
+                    application.getJobId() });
+            perJob.merge(application.getJobId(), 1L, Long::sum);
+            eventPublisher.publishEvent(new ApplicationSubmittedEvent(id, application.getJobId(),
+                    application.getCandidateName(), application.getCandidateEmail(), status, submittedAt));
+        }
+        jdbcTemplate.batchUpdate(INSERT_APPLICATION, args, new int[] { Types.BIGINT, Types.VARCHAR,
+                Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT });
+        perJob.forEach(jobRepository::addApplicationCount);
+    }
+
+    /**
+     * What to report for a row the database refused. Driver messages carry SQL
+     * and schema details, so the client gets a fixed text per SQLSTATE class
+     * and the cause is logged here.
+     */
+    private static String writeFailure(long line, RuntimeException ex) {
+        if (DuplicateApplicationGuard.isDuplicate(ex)) {
+            return "Candidate has already applied to this job";
+        }
+        log.warn("Import row on line {} could not be stored", line, ex);
+        String sqlState = sqlState(ex);
+        if (sqlState == null) {
+            return "Row could not be stored";
+        }
+        return switch (sqlState) {
+            // 23506 is H2's code for the same foreign key violation
+            case "23503", "23506" -> "Job not found";
+            case "23502" -> "A required value is missing";
+            case "22001" -> "A value is too long";
+            default -> sqlState.startsWith("22") || sqlState.startsWith("23")
+                    ? "Row has a value the database does not accept" : "Row could not be stored";
+        };
+    }
+
+    private static String sqlState(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+                return sql.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parser messages name internal types, so only the offending property is
+     * reported.
+     */
+    private static String malformed(long line, RuntimeException ex) {
+        log.debug("Import row on line {} is malformed", line, ex);
+        if (ex instanceof StreamReadException) {
+            return "Malformed row: not valid JSON";
+        }
+        if (ex instanceof JacksonException jackson && !jackson.getPath().isEmpty()) {
+            String property = jackson.getPath().getLast().getPropertyName();
+            if (property != null) {
+                return "Malformed row: invalid value for " + property;
+            }
+        }
+        return "Malformed row";
+    }
+
+    private final class Counters {
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<RowError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowCheck<T> {
+        String problem(T value);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        void write(List<T> chunk);
+    }
+
+    private record Row<T>(long line, T value, String error) {
+    }
+
+    private interface RowReader<T> {
+        Row<T> next() throws IOException;
+    }
+
+    private final class NdjsonRows<T> implements RowReader<T> {
+        private final BufferedReader reader;
+        private final Class<T> type;
+        private long line;
+
+        NdjsonRows(BufferedReader reader, Class<T> type) {
+            this.reader = reader;
+            this.type = type;
+        }
+
+        @Override
+        public Row<T> next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return new Row<>(line, jsonMapper.readValue(text, type), null);
+            } catch (RuntimeException ex) {
+                return new Row<>(line, null, malformed(line, ex));
+            }
+        }
+    }
+
+    /**
+     * Columns are named by the header row after the DTO's properties; unknown
+     * columns are ignored and empty cells count as absent.
+     */
+    private final class CsvRows<T> implements RowReader<T> {
+        private final CsvReader csv;
+        private final Class<T> type;
+        private List<String> header;
+
+        CsvRows(BufferedReader reader, Class<T> type) {
+            this.csv = new CsvReader(reader);
+            this.type = type;
+        }
+
+        @Override
+        public Row<T> next() throws IOException {
+            if (header == null) {
+                header = csv.next();
+                if (header == null) {
+                    return null;
+                }
+                if (!header.isEmpty()) {
+                    header.set(0, header.get(0).replace("\uFEFF", ""));
+                }
+            }
+            List<String> fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+            long line = csv.getRecordLine();
+            if (fields.size() != header.size()) {
+                return new Row<>(line, null,
+                        "Expected " + header.size() + " columns but found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    values.put(header.get(i).trim(), fields.get(i));
+                }
+            }
+            try {
+                return new Row<>(line, jsonMapper.convertValue(values, type), null);
+            } catch (RuntimeException ex) {
+                return new Row<>(line, null, malformed(line, ex));
+            }
+        }
+    }
+}
@@ -0,0 +1,584 @@
+package com.ats.service;
+
+import com.ats.event.ApplicationSubmittedEvent;
+import com.ats.event.JobDeletedEvent;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.ApplicationRepository.SearchRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Trigram inverted index over candidate name and email, replacing the
+ * {@code LIKE '%q%'} scan for recruiter search.
+ *
+ * Every application gets a dense ordinal; each trigram of its lower-cased
+ * name and email maps to an ascending list of ordinals. A query intersects
+ * the postings of its own trigrams, verifies the surviving candidates with a
+ * plain substring check (so results match the SQL semantics exactly) and
+ * keeps the best page in a bounded heap. Queries shorter than a trigram are
+ * left to the database.
+ *
+ * The index is filled by a keyset scan after startup and then from this
+ * node's after-commit {@link ApplicationSubmittedEvent}s. Rows that raise no
+ * event here (other nodes, SQL) are picked up by a catch-up scan of the
+ * newest ids every {@code search.index.catch-up-interval}; since each node
+ * allocates ids in blocks, it rescans a trailing window rather than only
+ * what lies past the highest id. A full sweep every
+ * {@code search.index.sweep-interval} adds anything older still missing and
+ * drops applications deleted elsewhere. Deleting a job purges its
+ * applications at once; a page lookup that no longer finds an application
+ * drops it too.
+ *
+ * Pages are ordered by rank, unlike database search, so the cursors
+ * {@link #search} hands out are tagged ({@link #isIndexCursor}) and are not
+ * valid database cursors, nor the other way round.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandidateSearchIndex {
+
+    public static final int GRAM = 3;
+
+    private static final int RANK_EXACT = 3;
+    private static final int RANK_PREFIX = 2;
+    private static final int RANK_CONTAINS = 1;
+
+    private final ApplicationRepository applicationRepository;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.build-batch-size:10000}")
+    private int buildBatchSize;
+
+    @Value("${search.index.catch-up-window:5000}")
+    private long catchUpWindow;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // One table scan at a time: build, rebuild, catch-up or sweep
+    private final ReentrantLock scanning = new ReentrantLock();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private long[] ids = new long[1024];
+    private long[] jobIds = new long[1024];
+    private long[] submittedAt = new long[1024];
+    private String[] names = new String[1024];
+    private String[] emails = new String[1024];
+    private int size;
+    private long highestId;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(() -> build(false), "candidate-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @TransactionalEventListener
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        if (enabled) {
+            add(event.applicationId(), event.jobId(), event.candidateName(), event.candidateEmail(),
+                    event.submittedAt());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onJobDeleted(JobDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> ofJob = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                if (jobIds[ordinal] == event.jobId() && !removed.get(ordinal)) {
+                    ofJob.add(ids[ordinal]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        remove(ofJob);
+    }
+
+    /**
+     * Indexes applications committed without an event on this node: every
+     * row in the trailing id window, most of which are already known.
+     */
+    @Scheduled(initialDelayString = "${search.index.catch-up-interval:PT10S}",
+            fixedDelayString = "${search.index.catch-up-interval:PT10S}")
+    public void catchUp() {
+        if (!enabled || !ready || !scanning.tryLock()) {
+            return;
+        }
+        try {
+            int before = size();
+            scan(Math.max(0L, highestId() - catchUpWindow), this::index);
+            if (size() > before) {
+                log.debug("Candidate search index caught up {} application(s)", size() - before);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Candidate search index catch-up failed", ex);
+        } finally {
+            scanning.unlock();
+        }
+    }
+
+    /**
+     * Rescans the whole table: adds applications the catch-up window missed
+     * and drops those deleted without an event on this node.
+     */
+    @Scheduled(initialDelayString = "${search.index.sweep-interval:PT15M}",
+            fixedDelayString = "${search.index.sweep-interval:PT15M}")
+    public void sweep() {
+        if (!enabled || !ready || !scanning.tryLock()) {
+            return;
+        }
+        try {
+            // Rows indexed from here on came from events or this scan, so only earlier ones can be stale
+            int existing = ordinalCount();
+            BitSet seen = new BitSet(existing);
+            int before = size();
+            scan(0L, row -> {
+                int ordinal = index(row);
+                if (ordinal >= 0 && ordinal < existing) {
+                    seen.set(ordinal);
+                }
+            });
+            int added = size() - before;
+            List<Long> gone = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (int ordinal = seen.nextClearBit(0); ordinal < existing; ordinal = seen.nextClearBit(ordinal + 1)) {
+                    if (!removed.get(ordinal)) {
+                        gone.add(ids[ordinal]);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            remove(gone);
+            if (added > 0 || !gone.isEmpty()) {
+                log.info("Candidate search index sweep added {} and dropped {} application(s)", added, gone.size());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Candidate search index sweep failed", ex);
+        } finally {
+            scanning.unlock();
+        }
+    }
+
+    /**
+     * Whether {@link #search} can answer the query; otherwise the caller
+     * should fall back to the database.
+     */
+    public boolean canServe(String query) {
+        return ready && query != null && normalize(query).length() >= GRAM;
+    }
+
+    /**
+     * Whether the cursor came from {@link #search} rather than from a
+     * database page.
+     */
+    public static boolean isIndexCursor(String cursor) {
+        return cursor != null && Hit.isTagged(cursor);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchPage search(String query, String cursor, int pageSize) {
+        String needle = normalize(query);
+        Hit after = cursor == null || cursor.isBlank() ? null : Hit.decode(cursor);
+
+        PriorityQueue<Hit> worstFirst = new PriorityQueue<>(pageSize + 2, Hit.ORDER.reversed());
+        lock.readLock().lock();
+        try {
+            for (int ordinal : candidates(needle)) {
+                if (removed.get(ordinal)) {
+                    continue;
+                }
+                int rank = rank(needle, names[ordinal], emails[ordinal]);
+                if (rank == 0) {
+                    continue;
+                }
+                Hit hit = new Hit(rank, submittedAt[ordinal], ids[ordinal]);
+                if (after != null && Hit.ORDER.compare(hit, after) <= 0) {
+                    continue;
+                }
+                worstFirst.add(hit);
+                if (worstFirst.size() > pageSize + 1) {
+                    worstFirst.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(worstFirst);
+        hits.sort(Hit.ORDER);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+        List<Long> pageIds = hits.stream().map(Hit::id).toList();
+        String nextCursor = hasMore ? hits.get(hits.size() - 1).encode() : null;
+        return new SearchPage(pageIds, nextCursor);
+    }
+
+    public void add(Long id, Long jobId, String candidateName, String candidateEmail, LocalDateTime submitted) {
+        index(id, jobId, candidateName, candidateEmail, submitted);
+    }
+
+    /**
+     * Drops the applications and purges them from the posting lists, so
+     * neither searches nor memory pay for them afterwards.
+     */
+    public void remove(Collection<Long> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            BitSet dropped = new BitSet();
+            Set<Long> grams = new HashSet<>();
+            for (Long id : applicationIds) {
+                Integer ordinal = ordinalsById.remove(id);
+                if (ordinal != null) {
+                    removed.set(ordinal);
+                    dropped.set(ordinal);
+                    collectGrams(names[ordinal], grams);
+                    collectGrams(emails[ordinal], grams);
+                    names[ordinal] = null;
+                    emails[ordinal] = null;
+                }
+            }
+            for (Long gram : grams) {
+                IntList list = postings.get(gram);
+                if (list != null && list.removeAll(dropped) == 0) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops everything and rescans the table; search falls back to the
+     * database until the scan completes.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        build(true);
+    }
+
+    private void build(boolean clear) {
+        long started = System.nanoTime();
+        scanning.lock();
+        try {
+            if (clear) {
+                clear();
+            }
+            scan(0L, this::index);
+            ready = true;
+            log.info("Candidate search index built: {} applications, {} trigrams in {} ms",
+                    size(), postings.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("Candidate search index build failed; search stays on the database", ex);
+        } finally {
+            scanning.unlock();
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinalsById.clear();
+            removed.clear();
+            Arrays.fill(names, 0, size, null);
+            Arrays.fill(emails, 0, size, null);
+            size = 0;
+            highestId = 0L;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Keyset scan of every application with an id above afterId
+    private void scan(long afterId, Consumer<SearchRow> visitor) {
+        while (true) {
+            List<SearchRow> rows = applicationRepository.findSearchRowsAfter(afterId, Limit.of(buildBatchSize));
+            rows.forEach(visitor);
+            if (rows.size() < buildBatchSize) {
+                return;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+    }
+
+    private int index(SearchRow row) {
+        return index(row.getId(), row.getJobId(), row.getCandidateName(), row.getCandidateEmail(),
+                row.getSubmittedAt());
+    }
+
+    /**
+     * @return the application's ordinal, whether new or already indexed; -1
+     *         without an id
+     */
+    private int index(Long id, Long jobId, String candidateName, String candidateEmail, LocalDateTime submitted) {
+        if (id == null) {
+            return -1;
+        }
+        // Scans revisit mostly known rows; skip them without the write lock
+        lock.readLock().lock();
+        try {
+            Integer known = ordinalsById.get(id);
+            if (known != null) {
+                return known;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        String name = normalize(candidateName);
+        String email = normalize(candidateEmail);
+        Set<Long> grams = new LinkedHashSet<>();
+        collectGrams(name, grams);
+        collectGrams(email, grams);
+
+        lock.writeLock().lock();
+        try {
+            Integer known = ordinalsById.get(id);
+            if (known != null) {
+                return known;
+            }
+            int ordinal = size++;
+            ensureCapacity(size);
+            ids[ordinal] = id;
+            jobIds[ordinal] = jobId != null ? jobId : 0L;
+            submittedAt[ordinal] = submitted != null ? toMicros(submitted) : Long.MIN_VALUE;
+            names[ordinal] = name;
+            emails[ordinal] = email;
+            ordinalsById.put(id, ordinal);
+            highestId = Math.max(highestId, id);
+            for (Long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new IntList()).add(ordinal);
+            }
+            return ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long highestId() {
+        lock.readLock().lock();
+        try {
+            return highestId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int ordinalCount() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ordinals whose name or email contains every trigram of the needle,
+     * intersected smallest list first.
+     */
+    private int[] candidates(String needle) {
+        Set<Long> grams = new LinkedHashSet<>();
+        collectGrams(needle, grams);
+        List<IntList> lists = new ArrayList<>(grams.size());
+        for (Long gram : grams) {
+            IntList list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] result = Arrays.copyOf(lists.get(0).values, lists.get(0).size);
+        int length = result.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            IntList other = lists.get(i);
+            int kept = 0;
+            int from = 0;
+            for (int j = 0; j < length; j++) {
+                int found = Arrays.binarySearch(other.values, from, other.size, result[j]);
+                if (found >= 0) {
+                    result[kept++] = result[j];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            length = kept;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private static int rank(String needle, String name, String email) {
+        if (name == null || email == null) {
+            return 0;
+        }
+        if (name.equals(needle) || email.equals(needle)) {
+            return RANK_EXACT;
+        }
+        if (name.startsWith(needle) || email.startsWith(needle) || name.contains(" " + needle)) {
+            return RANK_PREFIX;
+        }
+        if (name.contains(needle) || email.contains(needle)) {
+            return RANK_CONTAINS;
+        }
+        return 0;
+    }
+
+    private static void collectGrams(String text, Set<Long> grams) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > ids.length) {
+            int capacity = Math.max(required, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            jobIds = Arrays.copyOf(jobIds, capacity);
+            submittedAt = Arrays.copyOf(submittedAt, capacity);
+            names = Arrays.copyOf(names, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+        }
+    }
+
+    public record SearchPage(List<Long> ids, String nextCursor) {
+    }
+
+    /**
+     * Growable ascending int array; ordinals are handed out in increasing
+     * order so appends keep every posting list sorted.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        // Compacts in place, keeping the order; returns the new size
+        int removeAll(BitSet ordinals) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!ordinals.get(values[i])) {
+                    values[kept++] = values[i];
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /**
+     * Result ordering (best rank, then newest first) doubling as the opaque
+     * keyset cursor for the next page.
+     */
+    private record Hit(int rank, long submittedAt, long id) {
+
+        static final Comparator<Hit> ORDER = Comparator.comparingInt(Hit::rank).reversed()
+                .thenComparing(Comparator.comparingLong(Hit::submittedAt).reversed())
+                .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+        private static final String TAG = "index:";
+
+        String encode() {
+            String raw = TAG + rank + ":" + submittedAt + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Hit decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                if (!raw.startsWith(TAG)) {
+                    throw new IllegalArgumentException("Not an index cursor");
+                }
+                String[] parts = raw.substring(TAG.length()).split(":");
+                return new Hit(Integer.parseInt(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            } catch (RuntimeException ex) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        static boolean isTagged(String cursor) {
+            try {
+                return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).startsWith(TAG);
+            } catch (IllegalArgumentException ex) {
+                return false;
+            }
+        }
+    }
+}
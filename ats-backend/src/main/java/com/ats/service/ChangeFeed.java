@@ -0,0 +1,316 @@
+package com.ats.service;
+
+import com.ats.dto.ChangeEvent;
+import com.ats.event.ApplicationStatusChangedEvent;
+import com.ats.event.ApplicationStatusesBulkChangedEvent;
+import com.ats.event.ApplicationSubmittedEvent;
+import com.ats.event.JobDeletedEvent;
+import com.ats.event.JobSavedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events feed of committed changes for open dashboards, so they
+ * can apply deltas instead of re-fetching lists.
+ *
+ * After commit a change is only queued for one dispatcher thread, which
+ * numbers it, serializes it once and offers it to every subscriber's bounded
+ * buffer; nothing waits on a client. Should the dispatcher fall
+ * {@code events.dispatch-queue-capacity} changes behind, the changes that do
+ * not fit are dropped and every client is resynced instead. A client
+ * whose buffer overflows loses its backlog and gets one {@code resync} event
+ * telling it to reload. So does a client reconnecting with a
+ * {@code Last-Event-ID} older than the latest change, since nothing is kept
+ * for replay. An idle stream costs an async request and an empty queue; a
+ * comment every {@code events.heartbeat-interval} keeps proxies from closing
+ * it and finds clients that went away.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeFeed {
+
+    private static final int RETRY_AFTER_SECONDS = 5;
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final JsonMapper jsonMapper;
+    private final DashboardStatsEngine dashboardStatsEngine;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${events.stream-timeout:PT30M}")
+    private Duration streamTimeout;
+
+    @Value("${events.dispatch-queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Writes block while a client's socket is full; that only parks a virtual thread
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // Set when a change could not be queued; the next dispatch resyncs everyone
+    private final AtomicBoolean dropped = new AtomicBoolean();
+    private Semaphore slots;
+    // One thread, so changes reach the buffers in id order
+    private ExecutorService dispatcher;
+    private Counter resyncs;
+
+    @PostConstruct
+    public void init() {
+        slots = new Semaphore(maxSubscribers);
+        dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(dispatchQueueCapacity),
+                Thread.ofPlatform().name("change-feed-dispatcher").daemon().factory());
+        Gauge.builder("ats.events.subscribers", subscribers, Set::size)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+        resyncs = Counter.builder("ats.events.resyncs")
+                .description("Change feed clients told to reload after falling behind")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        if (!slots.tryAcquire()) {
+            throw tooManySubscribers();
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        // Clients reconnect with their Last-Event-ID; a missed change turns into a resync
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        long latest = sequence.get();
+        if (lastEventId != null && lastEventId != latest) {
+            subscriber.resync = true;
+            subscriber.schedule();
+        } else {
+            subscriber.offer(SseEmitter.event().id(Long.toString(latest)).name("ready").data("").build());
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        publish("application-submitted", ChangeEvent.builder()
+                .applicationId(event.applicationId())
+                .jobId(event.jobId())
+                .jobTitle(dashboardStatsEngine.jobTitle(event.jobId()))
+                .candidateName(event.candidateName())
+                .candidateEmail(event.candidateEmail())
+                .status(event.status())
+                .submittedAt(event.submittedAt())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onApplicationStatusChanged(ApplicationStatusChangedEvent event) {
+        if (event.previousStatus() == event.newStatus()) {
+            return;
+        }
+        publish("application-status-changed", ChangeEvent.builder()
+                .applicationId(event.applicationId())
+                .jobId(event.jobId())
+                .previousStatus(event.previousStatus())
+                .status(event.newStatus())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onApplicationStatusesBulkChanged(ApplicationStatusesBulkChangedEvent event) {
+        publish("application-statuses-changed", ChangeEvent.builder()
+                .status(event.newStatus())
+                .movedFromStatus(event.movedFromStatus())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onJobSaved(JobSavedEvent event) {
+        publish(event.created() ? "job-created" : "job-updated", ChangeEvent.builder()
+                .jobId(event.jobId())
+                .jobTitle(event.title())
+                .active(event.active())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onJobDeleted(JobDeletedEvent event) {
+        publish("job-deleted", ChangeEvent.builder()
+                .jobId(event.jobId())
+                .removedApplicationsByStatus(event.removedApplicationsByStatus())
+                .build());
+    }
+
+    @Scheduled(initialDelayString = "${events.heartbeat-interval:PT25S}",
+            fixedRateString = "${events.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.isEmpty()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    // Runs in the committing thread: one enqueue, no serialization and no fan-out
+    private void publish(String type, ChangeEvent change) {
+        try {
+            dispatcher.execute(() -> dispatch(type, change));
+        } catch (RejectedExecutionException ex) {
+            dropped.set(true);
+        }
+    }
+
+    private void dispatch(String type, ChangeEvent change) {
+        if (dropped.getAndSet(false)) {
+            // Stands in for the lost changes, so a client reconnecting with the last id it saw resyncs too
+            sequence.incrementAndGet();
+            log.warn("Change feed dispatcher fell behind; dropped changes and resyncing {} client(s)",
+                    subscribers.size());
+            subscribers.forEach(Subscriber::resync);
+        }
+        long id = sequence.incrementAndGet();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            Set<DataWithMediaType> message = SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name(type)
+                    .data(jsonMapper.writeValueAsString(change))
+                    .build();
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(message);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not publish change {}; resyncing every client", id, ex);
+            subscribers.forEach(Subscriber::resync);
+        }
+    }
+
+    private ResponseStatusException tooManySubscribers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many open event streams, please retry shortly") {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer = new LinkedBlockingQueue<>(bufferSize);
+        // At most one sender per stream, started when the first message arrives
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean resync;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> message) {
+            if (!buffer.offer(message)) {
+                // Too slow to keep up: drop the backlog and let the client reload instead
+                resync();
+                return;
+            }
+            schedule();
+        }
+
+        void resync() {
+            buffer.clear();
+            if (!resync) {
+                resync = true;
+                resyncs.increment();
+            }
+            schedule();
+        }
+
+        // Idempotent: completion, errors and failed sends all end up here
+        void close() {
+            if (subscribers.remove(this)) {
+                slots.release();
+            }
+        }
+
+        void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                while (true) {
+                    Set<DataWithMediaType> next;
+                    if (resync) {
+                        resync = false;
+                        // The client reloads everything up to this id
+                        buffer.clear();
+                        next = SseEmitter.event().id(Long.toString(sequence.get())).name("resync").data("").build();
+                    } else {
+                        next = buffer.poll();
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    emitter.send(next);
+                }
+            } catch (IOException | RuntimeException ex) {
+                // The client is gone or the stream is broken; sending stays claimed so nothing restarts it
+                close();
+                emitter.completeWithError(ex);
+                return;
+            }
+            sending.set(false);
+            // A message offered between the last poll and the reset would otherwise wait
+            if (resync || !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.ats.service;
+
+import com.ats.dto.DashboardStats;
+import com.ats.event.ApplicationStatusChangedEvent;
+import com.ats.event.ApplicationStatusesBulkChangedEvent;
+import com.ats.event.ApplicationSubmittedEvent;
+import com.ats.event.JobDeletedEvent;
+import com.ats.event.JobSavedEvent;
+import com.ats.model.Application.ApplicationStatus;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.JobRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory source for {@code /api/applications/stats}.
+ *
+ * The state is loaded once from three grouped queries and then kept current
+ * from the after-commit events published by {@link ApplicationService} and
+ * {@link JobService}, so serving the dashboard never touches the database.
+ * A scheduled check rebuilds the state from the database and replaces it if
+ * the two disagree (writes that bypass the services, lost events).
+ *
+ * A load reads one REPEATABLE READ snapshot, so an event that arrives while it
+ * runs may or may not be in it. Every event bumps a generation counter, and a
+ * load is only installed if the generation did not move meanwhile; otherwise
+ * it is retried.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardStatsEngine {
+
+    private static final int RECENT_JOBS = 5;
+    private static final int LOAD_ATTEMPTS = 5;
+
+    private final ApplicationRepository applicationRepository;
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate snapshotTransaction;
+    private State state;
+    // Events applied (or ignored, before the first load) so far; guarded by the monitor
+    private long generation;
+
+    @PostConstruct
+    public void init() {
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        synchronized (this) {
+            if (state != null) {
+                return;
+            }
+        }
+        rebuild();
+    }
+
+    public DashboardStats snapshot() {
+        synchronized (this) {
+            if (state != null) {
+                return state.toStats();
+            }
+        }
+        rebuild();
+        synchronized (this) {
+            return state.toStats();
+        }
+    }
+
+    /**
+     * Title of a job as last seen, or null if unknown; never touches the
+     * database.
+     */
+    public synchronized String jobTitle(Long jobId) {
+        JobEntry entry = state != null ? state.jobs.get(jobId) : null;
+        return entry != null ? entry.title : null;
+    }
+
+    /**
+     * Reloads the full state from the database, replacing whatever is held now.
+     * If writes never pause long enough for a clean load, the last one is
+     * installed anyway and left to the consistency check.
+     */
+    public void rebuild() {
+        if (!loadBetweenEvents(loaded -> state = loaded)) {
+            State loaded = load();
+            synchronized (this) {
+                state = loaded;
+            }
+            log.warn("Dashboard statistics rebuilt while events kept arriving; the consistency check will correct them");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${stats.consistency-check-interval:PT5M}",
+            fixedDelayString = "${stats.consistency-check-interval:PT5M}")
+    public void checkConsistency() {
+        boolean checked = loadBetweenEvents(loaded -> {
+            if (!loaded.equals(state)) {
+                log.warn("Dashboard statistics drifted from the database; replacing in-memory state");
+                state = loaded;
+            }
+        });
+        if (!checked) {
+            log.debug("Dashboard consistency check skipped; events kept arriving during every load");
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        generation++;
+        if (state != null) {
+            state.addApplication(event.jobId(), event.status(), 1);
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onApplicationStatusChanged(ApplicationStatusChangedEvent event) {
+        generation++;
+        if (state != null && event.previousStatus() != event.newStatus()) {
+            state.moveStatus(event.previousStatus(), event.newStatus(), 1);
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onApplicationStatusesBulkChanged(ApplicationStatusesBulkChangedEvent event) {
+        generation++;
+        if (state != null) {
+            event.movedFromStatus().forEach((from, count) -> {
+                if (from != event.newStatus()) {
+                    state.moveStatus(from, event.newStatus(), count);
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onJobSaved(JobSavedEvent event) {
+        generation++;
+        if (state != null) {
+            state.putJob(event.jobId(), event.title(), event.active(), event.createdAt());
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onJobDeleted(JobDeletedEvent event) {
+        generation++;
+        if (state != null) {
+            state.removeJob(event.jobId(), event.removedApplicationsByStatus());
+        }
+    }
+
+    /**
+     * Loads the state and hands it to {@code install} under the monitor, but
+     * only if no event was applied while it loaded. Returns false if every
+     * attempt overlapped an event.
+     */
+    private boolean loadBetweenEvents(Consumer<State> install) {
+        for (int attempt = 0; attempt < LOAD_ATTEMPTS; attempt++) {
+            long seen;
+            synchronized (this) {
+                seen = generation;
+            }
+            // Read before the snapshot starts: every event counted so far was committed earlier, so it is in it
+            State loaded = load();
+            synchronized (this) {
+                if (generation == seen) {
+                    install.accept(loaded);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private State load() {
+        return snapshotTransaction.execute(status -> loadSnapshot());
+    }
+
+    private State loadSnapshot() {
+        State loaded = new State();
+        jobRepository.findAllSummaries().forEach(job -> loaded.putJob(job.getId(), job.getTitle(),
+                Boolean.TRUE.equals(job.getActive()), job.getCreatedAt()));
+        applicationRepository.countGroupedByJob().forEach(row -> {
+            JobEntry entry = loaded.jobs.get(row.getJobId());
+            if (entry != null) {
+                entry.applications = row.getTotal();
+            }
+        });
+        applicationRepository.countGroupedByStatus().forEach(row -> {
+            if (row.getStatus() != null) {
+                loaded.byStatus.merge(row.getStatus(), row.getTotal(), Long::sum);
+            }
+            loaded.totalApplications += row.getTotal();
+        });
+        return loaded;
+    }
+
+    /**
+     * Mutable aggregate; every access is guarded by the engine's monitor.
+     */
+    private static final class State {
+
+        private static final Comparator<JobEntry> MOST_RECENT_FIRST = Comparator
+                .comparing((JobEntry job) -> job.createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(job -> job.id, Comparator.reverseOrder());
+
+        private final Map<Long, JobEntry> jobs = new HashMap<>();
+        private final TreeSet<JobEntry> activeByRecency = new TreeSet<>(MOST_RECENT_FIRST);
+        private final EnumMap<ApplicationStatus, Long> byStatus = new EnumMap<>(ApplicationStatus.class);
+        private long totalApplications;
+
+        void putJob(Long id, String title, boolean active, LocalDateTime createdAt) {
+            JobEntry entry = jobs.get(id);
+            if (entry == null) {
+                entry = new JobEntry(id);
+                jobs.put(id, entry);
+            } else {
+                activeByRecency.remove(entry);
+            }
+            entry.title = title;
+            entry.active = active;
+            // Match the microsecond precision the database hands back on reload
+            entry.createdAt = createdAt != null ? createdAt.truncatedTo(ChronoUnit.MICROS) : null;
+            if (active) {
+                activeByRecency.add(entry);
+            }
+        }
+
+        void removeJob(Long id, Map<ApplicationStatus, Long> removedByStatus) {
+            JobEntry entry = jobs.remove(id);
+            if (entry != null) {
+                activeByRecency.remove(entry);
+            }
+            removedByStatus.forEach((status, count) -> {
+                byStatus.merge(status, -count, Long::sum);
+                totalApplications -= count;
+            });
+        }
+
+        void addApplication(Long jobId, ApplicationStatus status, long count) {
+            JobEntry entry = jobs.get(jobId);
+            if (entry != null) {
+                entry.applications += count;
+            }
+            byStatus.merge(status, count, Long::sum);
+            totalApplications += count;
+        }
+
+        void moveStatus(ApplicationStatus from, ApplicationStatus to, long count) {
+            byStatus.merge(from, -count, Long::sum);
+            byStatus.merge(to, count, Long::sum);
+        }
+
+        DashboardStats toStats() {
+            Map<String, Long> applicationsByStatus = new LinkedHashMap<>();
+            for (ApplicationStatus status : ApplicationStatus.values()) {
+                applicationsByStatus.put(status.name(), byStatus.getOrDefault(status, 0L));
+            }
+
+            Map<String, Long> recentApplicationsByJob = new LinkedHashMap<>();
+            Iterator<JobEntry> recent = activeByRecency.iterator();
+            for (int i = 0; i < RECENT_JOBS && recent.hasNext(); i++) {
+                JobEntry job = recent.next();
+                recentApplicationsByJob.put(job.title, job.applications);
+            }
+
+            return DashboardStats.builder()
+                    .totalJobs(jobs.size())
+                    .activeJobs(activeByRecency.size())
+                    .totalApplications(totalApplications)
+                    .applicationsByStatus(applicationsByStatus)
+                    .recentApplicationsByJob(recentApplicationsByJob)
+                    .build();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof State that)) {
+                return false;
+            }
+            return totalApplications == that.totalApplications
+                    && normalized(byStatus).equals(normalized(that.byStatus))
+                    && jobs.equals(that.jobs);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(totalApplications, normalized(byStatus), jobs);
+        }
+
+        private static Map<ApplicationStatus, Long> normalized(Map<ApplicationStatus, Long> counts) {
+            Map<ApplicationStatus, Long> result = new EnumMap<>(ApplicationStatus.class);
+            counts.forEach((status, count) -> {
+                if (count != 0) {
+                    result.put(status, count);
+                }
+            });
+            return result;
+        }
+    }
+
+    private static final class JobEntry {
+        private final Long id;
+        private String title;
+        private boolean active;
+        private LocalDateTime createdAt;
+        private long applications;
+
+        JobEntry(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof JobEntry that)) {
+                return false;
+            }
+            return id.equals(that.id) && active == that.active && applications == that.applications
+                    && Objects.equals(title, that.title) && Objects.equals(createdAt, that.createdAt);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
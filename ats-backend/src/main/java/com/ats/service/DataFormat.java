@@ -0,0 +1,34 @@
+package com.ats.service;
+
+/**
+ * Line-oriented wire formats for bulk export and import.
+ */
+public enum DataFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static DataFormat parse(String value) {
+        for (DataFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Unsupported format: " + value);
+    }
+}
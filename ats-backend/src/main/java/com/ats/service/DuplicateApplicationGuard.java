@@ -0,0 +1,252 @@
+package com.ats.service;
+
+import com.ats.event.ApplicationSubmittedEvent;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.ApplicationRepository.ApplicantKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * One application per candidate email and job, checked before the resume is
+ * stored.
+ *
+ * The unique index {@value #UNIQUE_INDEX} on {@code (job_id,
+ * lower(candidate_email))} is the rule; this puts a Bloom filter of every
+ * (job, email) pair in front of it so the usual "definitely new" answer costs
+ * no query. Only a filter hit is confirmed against the index. The filter is
+ * filled by a streaming scan after startup and then from after-commit
+ * {@link ApplicationSubmittedEvent}s; until the scan completes every check
+ * goes to the database. Keys of deleted applications stay in the filter and
+ * only cost a lookup. Past {@code expected-entries} the false positive rate
+ * climbs, so the filter is rebuilt twice as large in the background.
+ *
+ * A claim additionally holds the pair on this node while the application is
+ * being written, so a double submit is turned away even before the first one
+ * commits. Across nodes that race is settled by the index at insert.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DuplicateApplicationGuard {
+
+    public static final String UNIQUE_INDEX = "uk_applications_job_email";
+
+    private static final String DUPLICATE_MESSAGE = "You have already applied to this job";
+
+    private final ApplicationRepository applicationRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${applications.duplicate-filter.enabled:true}")
+    private boolean filterEnabled;
+
+    @Value("${applications.duplicate-filter.expected-entries:1000000}")
+    private long expectedEntries;
+
+    @Value("${applications.duplicate-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Null until the first scan completes
+    private volatile BloomFilter filter;
+    // Being filled by a scan; new keys go into both
+    private volatile BloomFilter next;
+    private Counter filtered;
+    private Counter lookedUp;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        // filtered: cleared by the Bloom filter; looked_up: queried and new; duplicate: rejected
+        filtered = checks("filtered");
+        lookedUp = checks("looked_up");
+        rejected = checks("duplicate");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (filterEnabled && rebuilding.compareAndSet(false, true)) {
+            startBuild(expectedEntries);
+        }
+    }
+
+    /**
+     * Rescans the table after rows were written without events (seeding);
+     * returns once the new filter is in place, or at once if a scan is
+     * already running.
+     */
+    public void rebuild() {
+        if (filterEnabled && rebuilding.compareAndSet(false, true)) {
+            BloomFilter current = filter;
+            build(current == null ? expectedEntries : current.capacity());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        if (event.candidateEmail() == null) {
+            return;
+        }
+        String key = key(event.jobId(), normalize(event.candidateEmail()));
+        // next before filter: a build finishing in between has already published its filter
+        BloomFilter pending = next;
+        BloomFilter current = filter;
+        if (pending != null) {
+            pending.add(key);
+        }
+        if (current == null) {
+            return;
+        }
+        current.add(key);
+        if (entries.incrementAndGet() > current.capacity() && rebuilding.compareAndSet(false, true)) {
+            startBuild(current.capacity() * 2);
+        }
+    }
+
+    public boolean hasApplied(Long jobId, String email) {
+        if (email == null) {
+            return false;
+        }
+        String normalized = normalize(email);
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key(jobId, normalized))) {
+            filtered.increment();
+            return false;
+        }
+        if (applicationRepository.countByJobIdAndLowerEmail(jobId, normalized) > 0) {
+            rejected.increment();
+            return true;
+        }
+        lookedUp.increment();
+        return false;
+    }
+
+    /**
+     * Rejects the submission with 409 if the candidate already applied or is
+     * applying right now, otherwise holds the pair until {@link #release} is
+     * called with the returned claim, once the application is committed or
+     * abandoned.
+     */
+    public String claim(Long jobId, String email) {
+        String key = key(jobId, normalize(email));
+        if (!inFlight.add(key)) {
+            rejected.increment();
+            throw duplicate();
+        }
+        try {
+            if (hasApplied(jobId, email)) {
+                throw duplicate();
+            }
+        } catch (RuntimeException ex) {
+            inFlight.remove(key);
+            throw ex;
+        }
+        return key;
+    }
+
+    public void release(String claim) {
+        if (claim != null) {
+            inFlight.remove(claim);
+        }
+    }
+
+    public ResponseStatusException duplicate() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, DUPLICATE_MESSAGE);
+    }
+
+    /**
+     * Whether a failed write was rejected by {@value #UNIQUE_INDEX}.
+     */
+    public static boolean isDuplicate(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(UNIQUE_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startBuild(long capacity) {
+        Thread builder = new Thread(() -> build(capacity), "duplicate-filter-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build(long capacity) {
+        try {
+            while (true) {
+                long started = System.nanoTime();
+                BloomFilter pending = new BloomFilter(capacity, falsePositiveRate);
+                next = pending;
+                long count = scan(pending);
+                filter = pending;
+                next = null;
+                entries.set(count);
+                log.info("Duplicate application filter built: {} applications, {} KiB in {} ms",
+                        count, pending.sizeInBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+                if (count <= capacity) {
+                    break;
+                }
+                capacity = count * 2;
+            }
+        } catch (RuntimeException ex) {
+            next = null;
+            log.error("Duplicate application filter build failed; checks keep using {}",
+                    filter == null ? "the database" : "the previous filter", ex);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private long scan(BloomFilter pending) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            long count = 0;
+            try (Stream<ApplicantKey> keys = applicationRepository.streamApplicantKeys()) {
+                for (ApplicantKey key : (Iterable<ApplicantKey>) keys::iterator) {
+                    pending.add(key(key.getJobId(), key.getEmail()));
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private Counter checks(String result) {
+        return Counter.builder("ats.applications.duplicate.checks")
+                .tag("result", result)
+                .description("Duplicate application checks by outcome")
+                .register(meterRegistry);
+    }
+
+    // Matches lower() for the emails we see; a rare mismatch only means the index decides instead
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(Long jobId, String normalizedEmail) {
+        return jobId + ":" + normalizedEmail;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ats.service;
+
+import com.ats.event.ApplicationSubmittedEvent;
+import com.ats.model.Job;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the second-level cache in step with writes Hibernate does not see as
+ * entity changes. Counter statements evict only the job they touched;
+ * JDBC bulk writers clear everything once they are done. Entity updates,
+ * deletes and inserts (job edits, registration) are handled by Hibernate.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        cache().evict(Job.class, event.jobId());
+    }
+
+    /**
+     * Drops all cached entities and query results, after rows were written
+     * over plain JDBC.
+     */
+    public void evictAll() {
+        cache().evictAllRegions();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
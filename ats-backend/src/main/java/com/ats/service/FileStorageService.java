@@ -1,45 +1,90 @@
 package com.ats.service;
 
+import com.ats.event.JobDeletedEvent;
+import com.ats.repository.ApplicationRepository;
+import com.ats.storage.ResumeStore;
+import com.ats.storage.StagedResume;
+import com.ats.storage.StoredResume;
 import jakarta.annotation.PostConstruct;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
-
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content-addressed resume storage on top of a {@link ResumeStore}.
+ *
+ * Uploads are streamed to the store while their SHA-256 is computed, then
+ * published as {@code <sha256><ext>}; identical bytes are kept once. That
+ * name is what is saved as {@code resumePath} and used in download URLs;
+ * names that are not hashes are the random names of older uploads.
+ *
+ * A blob's reference count is the number of applications whose
+ * {@code resumePath} points at it, plus the uploads of it that are not
+ * committed yet: every {@link #storeFile} leaves a pending reference that the
+ * caller settles with {@link #confirm} once its row is committed or
+ * {@link #discard} if it never will be. {@link #release} only removes a blob
+ * once both counts are zero. Pending references and the locks guarding them
+ * are per node, so with a shared store two nodes can still race a release
+ * against a new upload of the same bytes.
+ */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class FileStorageService {
 
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    private static final int LOCK_STRIPES = 64;
+
+    private final ApplicationRepository applicationRepository;
+    private final ResumeStore resumeStore;
 
-    private Path fileStoragePath;
+    // Locks rather than monitors: the critical sections do storage and database I/O, which would pin a virtual thread
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    // Uploads whose referencing row is not committed yet, by file name; only added to under the name's lock
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void init() {
-        this.fileStoragePath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        try {
-            Files.createDirectories(this.fileStoragePath);
-        } catch (Exception ex) {
-            throw new RuntimeException("Could not create upload directory", ex);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
         }
     }
 
     public String storeFile(MultipartFile file) {
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
+        try (InputStream in = file.getInputStream()) {
+            return storeFile(in, file.getOriginalFilename());
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + file.getOriginalFilename(), ex);
+        }
+    }
+
+    /**
+     * Stores raw content under its hash; the original name only supplies the
+     * extension, which must be an allowed resume type. The returned name holds
+     * a pending reference until it is passed to {@link #confirm} or
+     * {@link #discard}.
+     */
+    public String storeFile(InputStream content, String originalName) {
+        String originalFileName = StringUtils.cleanPath(originalName);
         String fileExtension = "";
 
         if (originalFileName.contains(".")) {
-            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+            fileExtension = originalFileName.substring(originalFileName.lastIndexOf(".")).toLowerCase();
         }
 
         // Validate file type
@@ -47,44 +92,112 @@ public class FileStorageService {
             throw new RuntimeException("Invalid file type. Only PDF and DOC/DOCX files are allowed.");
         }
 
-        String fileName = UUID.randomUUID().toString() + fileExtension;
-
         try {
-            if (fileName.contains("..")) {
-                throw new RuntimeException("Invalid file path sequence: " + fileName);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (StagedResume staged = resumeStore.stage(new DigestInputStream(content, digest))) {
+                String fileName = HexFormat.of().formatHex(digest.digest()) + fileExtension;
+                ReentrantLock lock = lockFor(fileName);
+                lock.lock();
+                try {
+                    staged.publish(fileName);
+                    pending.merge(fileName, 1, Integer::sum);
+                } finally {
+                    lock.unlock();
+                }
+                return fileName;
             }
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            throw new RuntimeException("Could not store file " + originalFileName, ex);
+        }
+    }
+
+    /**
+     * Size and last modification of a stored file, or null if there is none.
+     */
+    public StoredResume find(String fileName) throws IOException {
+        return resumeStore.find(validate(fileName));
+    }
+
+    /**
+     * Bytes {@code start} to {@code end} (inclusive) of a stored file, read
+     * from the store as they are consumed.
+     */
+    public InputStream open(String fileName, long start, long end) throws IOException {
+        return resumeStore.open(validate(fileName), start, end);
+    }
 
-            Path targetLocation = this.fileStoragePath.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * The file on local disk when the store keeps one, so it can be handed to
+     * sendfile; null otherwise.
+     */
+    public Path localPath(String fileName) {
+        return resumeStore.localPath(validate(fileName));
+    }
 
-            return fileName;
+    public void deleteFile(String fileName) {
+        try {
+            resumeStore.delete(validate(fileName));
         } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + fileName, ex);
+            throw new RuntimeException("Could not delete file: " + fileName, ex);
         }
     }
 
-    public Resource loadFileAsResource(String fileName) {
+    /**
+     * Settles the pending reference of an upload whose application row has
+     * been committed; from here on the row keeps the file alive.
+     */
+    public void confirm(String fileName) {
+        pending.computeIfPresent(fileName, (name, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Settles the pending reference of an upload that will not be saved,
+     * deleting the file unless something else still refers to it.
+     */
+    public void discard(String fileName) {
+        confirm(fileName);
+        release(fileName);
+    }
+
+    /**
+     * Drops one reference to a stored file; the bytes are deleted once no
+     * application refers to them and no upload of them is pending.
+     */
+    public void release(String fileName) {
+        ReentrantLock lock = lockFor(fileName);
+        lock.lock();
         try {
-            Path filePath = this.fileStoragePath.resolve(fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+            if (!pending.containsKey(fileName) && applicationRepository.countByResumePath(fileName) == 0) {
+                deleteFile(fileName);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            if (resource.exists()) {
-                return resource;
-            } else {
-                throw new RuntimeException("File not found: " + fileName);
+    // Off the request thread: a deleted job can release many files
+    @Async
+    @TransactionalEventListener
+    public void onJobDeleted(JobDeletedEvent event) {
+        for (String fileName : event.removedResumePaths()) {
+            try {
+                release(fileName);
+            } catch (RuntimeException ex) {
+                log.warn("Could not release resume {} of deleted job {}", fileName, event.jobId(), ex);
             }
-        } catch (MalformedURLException ex) {
-            throw new RuntimeException("File not found: " + fileName, ex);
         }
     }
 
-    public void deleteFile(String fileName) {
-        try {
-            Path filePath = this.fileStoragePath.resolve(fileName).normalize();
-            Files.deleteIfExists(filePath);
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not delete file: " + fileName, ex);
+    // Stored names are flat; anything that could climb out of the store is refused
+    private static String validate(String fileName) {
+        if (fileName == null || fileName.contains("..") || fileName.contains("/") || fileName.contains("\\")) {
+            throw new RuntimeException("Invalid file path sequence: " + fileName);
         }
+        return fileName;
+    }
+
+    private ReentrantLock lockFor(String fileName) {
+        return locks[Math.floorMod(fileName.hashCode(), LOCK_STRIPES)];
     }
 
     private boolean isValidFileType(String extension) {
@@ -0,0 +1,124 @@
+package com.ats.service;
+
+import com.ats.event.JobDeletedEvent;
+import com.ats.event.JobSavedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Pre-serialized JSON for the public job board ({@code GET /api/jobs} and
+ * {@code GET /api/jobs/{id}}), with an ETag per body.
+ *
+ * Creating, updating or deleting a job bumps the board version after commit,
+ * which invalidates every cached body. New applications do not: bodies are
+ * rebuilt once older than {@code jobs.board-cache.count-staleness}, so
+ * application counts lag by at most that much. One thread rebuilds an entry
+ * while the others keep serving the stale body of the same version.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobBoardCache {
+
+    private final JobService jobService;
+    private final JsonMapper jsonMapper;
+
+    @Value("${jobs.board-cache.count-staleness:PT30S}")
+    private Duration countStaleness;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Entry activeJobs = new Entry();
+    private final Map<Long, Entry> jobs = new ConcurrentHashMap<>();
+
+    public CachedBody activeJobs() {
+        return activeJobs.get(() -> jobService.getAllActiveJobs());
+    }
+
+    public CachedBody job(Long id) {
+        Entry entry = jobs.computeIfAbsent(id, key -> new Entry());
+        try {
+            return entry.get(() -> jobService.getJobById(id));
+        } catch (RuntimeException ex) {
+            // Unknown ids must not leave empty entries behind
+            jobs.remove(id, entry);
+            throw ex;
+        }
+    }
+
+    /**
+     * Drops every cached body; for writers that bypass {@code JobService}.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        jobs.clear();
+    }
+
+    @TransactionalEventListener
+    public void onJobSaved(JobSavedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    public void onJobDeleted(JobDeletedEvent event) {
+        invalidate();
+    }
+
+    public record CachedBody(byte[] body, String etag, long version, long builtAtNanos) {
+    }
+
+    private final class Entry {
+        private final ReentrantLock rebuilding = new ReentrantLock();
+        private volatile CachedBody current;
+
+        CachedBody get(Supplier<Object> loader) {
+            CachedBody cached = current;
+            long currentVersion = version.get();
+            if (isFresh(cached, currentVersion)) {
+                return cached;
+            }
+            // Same version and only count-stale: serve it while someone else rebuilds
+            boolean usable = cached != null && cached.version() == currentVersion;
+            if (usable && !rebuilding.tryLock()) {
+                return cached;
+            }
+            if (!usable) {
+                rebuilding.lock();
+            }
+            try {
+                cached = current;
+                currentVersion = version.get();
+                if (isFresh(cached, currentVersion)) {
+                    return cached;
+                }
+                cached = build(loader.get(), currentVersion);
+                current = cached;
+                return cached;
+            } finally {
+                rebuilding.unlock();
+            }
+        }
+
+        private boolean isFresh(CachedBody cached, long currentVersion) {
+            return cached != null && cached.version() == currentVersion
+                    && System.nanoTime() - cached.builtAtNanos() < countStaleness.toNanos();
+        }
+    }
+
+    private CachedBody build(Object value, long currentVersion) {
+        byte[] body = jsonMapper.writeValueAsBytes(value);
+        CRC32C checksum = new CRC32C();
+        checksum.update(body);
+        String etag = "\"" + Long.toHexString(currentVersion) + "-" + Long.toHexString(checksum.getValue()) + "\"";
+        return new CachedBody(body, etag, currentVersion, System.nanoTime());
+    }
+}
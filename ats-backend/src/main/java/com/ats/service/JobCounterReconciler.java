@@ -0,0 +1,50 @@
+package com.ats.service;
+
+import com.ats.repository.JobRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically recomputes {@code jobs.application_count} from the applications
+ * table and fixes any rows that drifted (manual SQL, failed deletes, rows that
+ * predate the column). Runs once right after startup as well.
+ *
+ * Each drifted job is fixed in its own transaction with the job row locked
+ * first. A single UPDATE over all jobs would count applications from the
+ * snapshot it started with, then wait for a concurrent submission's counter
+ * increment and overwrite it with the stale count.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobCounterReconciler {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.counter-reconcile-interval:PT15M}")
+    public void reconcile() {
+        int fixed = 0;
+        // Candidates only: a submission in flight looks like drift until it commits
+        for (Long jobId : jobRepository.findIdsWithDriftedApplicationCount()) {
+            fixed += transactionTemplate.execute(status -> jobRepository.lockById(jobId).isPresent()
+                    ? jobRepository.reconcileApplicationCount(jobId)
+                    : 0);
+        }
+        if (fixed > 0) {
+            log.warn("Reconciled application counters for {} job(s)", fixed);
+        }
+    }
+}
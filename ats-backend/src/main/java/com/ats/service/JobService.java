@@ -1,15 +1,22 @@
 package com.ats.service;
 
 import com.ats.dto.JobDto;
+import com.ats.event.JobDeletedEvent;
+import com.ats.event.JobSavedEvent;
+import com.ats.model.Application;
+import com.ats.model.Application.ApplicationStatus;
 import com.ats.model.Job;
 import com.ats.model.User;
-import com.ats.repository.ApplicationRepository;
 import com.ats.repository.JobRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,7 +24,7 @@ import java.util.stream.Collectors;
 public class JobService {
 
     private final JobRepository jobRepository;
-    private final ApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<JobDto> getAllActiveJobs() {
         return jobRepository.findByActiveTrueOrderByCreatedAtDesc()
@@ -34,7 +41,7 @@ public class JobService {
     }
 
     public List<JobDto> getAllJobs() {
-        return jobRepository.findAll()
+        return jobRepository.findAllWithCreator()
                 .stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
@@ -56,6 +63,8 @@ public class JobService {
                 .build();
 
         Job saved = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobSavedEvent(saved.getId(), saved.getTitle(), saved.getActive(),
+                saved.getCreatedAt(), true));
         return toDto(saved);
     }
 
@@ -71,6 +80,8 @@ public class JobService {
         }
 
         Job saved = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobSavedEvent(saved.getId(), saved.getTitle(), saved.getActive(),
+                saved.getCreatedAt(), false));
         return toDto(saved);
     }
 
@@ -79,7 +90,20 @@ public class JobService {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
 
+        // The cascade loads the applications anyway; count them before they go
+        Map<ApplicationStatus, Long> removedByStatus = new EnumMap<>(ApplicationStatus.class);
+        List<String> removedResumePaths = new ArrayList<>();
+        for (Application application : job.getApplications()) {
+            if (application.getStatus() != null) {
+                removedByStatus.merge(application.getStatus(), 1L, Long::sum);
+            }
+            if (application.getResumePath() != null) {
+                removedResumePaths.add(application.getResumePath());
+            }
+        }
+
         jobRepository.delete(job);
+        eventPublisher.publishEvent(new JobDeletedEvent(id, removedByStatus, removedResumePaths));
     }
 
     private JobDto toDto(Job job) {
@@ -90,7 +114,7 @@ public class JobService {
                 .active(job.getActive())
                 .createdAt(job.getCreatedAt())
                 .createdByName(job.getCreatedBy() != null ? job.getCreatedBy().getFullName() : null)
-                .applicationCount(applicationRepository.countByJobId(job.getId()))
+                .applicationCount(job.getApplicationCount())
                 .build();
     }
 }
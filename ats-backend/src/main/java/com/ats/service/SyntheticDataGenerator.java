@@ -0,0 +1,376 @@
+package com.ats.service;
+
+import com.ats.model.Application.ApplicationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deterministic synthetic dataset for load and benchmark work.
+ *
+ * The same parameters and seed always produce the same users, jobs and
+ * applications (ids aside): per-job application counts are skewed so a few
+ * jobs are very popular, statuses follow a hiring funnel that advances with
+ * age, names are drawn from finite pools so collisions happen at volume, and
+ * some candidates apply to several jobs. Every job draws from its own random
+ * stream, so the output does not depend on how jobs are spread over threads.
+ *
+ * Rows are written with JDBC batch inserts from {@code threads} workers in
+ * transactions of {@code seed.generator.chunk-size} rows; callers are
+ * expected to rebuild counters and in-memory views afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    private static final String PASSWORD = "password123";
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Betty", "Anthony", "Margaret", "Mark", "Sandra",
+            "Donald", "Ashley", "Steven", "Kimberly", "Paul", "Emily", "Andrew", "Donna", "Joshua", "Michelle",
+            "Kenneth", "Dorothy", "Kevin", "Carol", "Brian", "Amanda", "George", "Melissa", "Edward", "Deborah",
+            "Ronald", "Stephanie", "Timothy", "Rebecca", "Jason", "Sharon", "Jeffrey", "Laura", "Ryan", "Cynthia",
+            "Jacob", "Kathleen", "Gary", "Amy", "Nicholas", "Shirley", "Eric", "Angela", "Jonathan", "Helen",
+            "Stephen", "Anna", "Larry", "Brenda", "Justin", "Pamela", "Scott", "Nicole", "Brandon", "Emma",
+            "Wei", "Priya", "Arjun", "Mei", "Hiroshi", "Yuki", "Carlos", "Sofia", "Mateo", "Lucia",
+            "Ahmed", "Fatima", "Omar", "Aisha", "Ivan", "Olga", "Lars", "Ingrid", "Kwame", "Amara"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Chen", "Wang", "Patel", "Singh", "Kumar", "Tanaka", "Sato", "Kim", "Park", "Silva",
+            "Santos", "Costa", "Muller", "Schmidt", "Novak", "Ivanova", "Hansen", "Larsen", "Okafor", "Mensah"
+    };
+
+    private static final String[] EMAIL_DOMAINS = {
+            "gmail.com", "outlook.com", "yahoo.com", "proton.me", "icloud.com", "hotmail.com", "mail.example"
+    };
+
+    private static final String[] LEVELS = { "Junior", "", "", "Senior", "Senior", "Staff", "Lead", "Principal" };
+
+    private static final String[] ROLES = {
+            "Software Engineer", "Backend Engineer", "Frontend Developer", "Full Stack Developer", "DevOps Engineer",
+            "Site Reliability Engineer", "Data Engineer", "Data Scientist", "Machine Learning Engineer",
+            "QA Engineer", "Product Manager", "Product Designer", "UX Researcher", "Engineering Manager",
+            "Security Engineer", "Mobile Developer", "Technical Writer", "Solutions Architect", "Support Engineer",
+            "Recruiter"
+    };
+
+    private static final String[] TEAMS = {
+            "Payments", "Platform", "Search", "Growth", "Core", "Infrastructure", "Mobile", "Analytics",
+            "Identity", "Billing", "Marketplace", "Developer Experience"
+    };
+
+    // Hiring funnel for an application old enough to have been fully processed
+    private static final ApplicationStatus[] FUNNEL = {
+            ApplicationStatus.NEW, ApplicationStatus.SHORTLISTED, ApplicationStatus.INTERVIEWED,
+            ApplicationStatus.REJECTED, ApplicationStatus.HIRED
+    };
+    private static final double[] FUNNEL_WEIGHTS = { 0.25, 0.20, 0.12, 0.40, 0.03 };
+
+    private static final String INSERT_USER = "INSERT INTO users (full_name, email, password, role, created_at) "
+            + "VALUES (?, ?, ?, 'RECRUITER', ?)";
+
+    private static final String INSERT_JOB = "INSERT INTO jobs "
+            + "(title, description, active, created_at, application_count, created_by) VALUES (?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_APPLICATION = "INSERT INTO applications "
+            + "(id, candidate_name, candidate_email, resume_path, resume_original_name, status, submitted_at, job_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PasswordEncoder passwordEncoder;
+    private final FileStorageService fileStorageService;
+
+    @Value("${seed.generator.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${seed.generator.max-applications:5000000}")
+    private long maxApplications;
+
+    @Value("${seed.generator.max-threads:8}")
+    private int maxThreads;
+
+    public Map<String, Object> generate(int users, int jobs, int applicationsPerJob, long seed,
+            int resumes, int threads) {
+        if (users < 1 || jobs < 0 || applicationsPerJob < 0 || resumes < 0) {
+            throw new RuntimeException("users must be at least 1; jobs, applicationsPerJob and resumes must not be negative");
+        }
+        if ((long) jobs * applicationsPerJob > maxApplications) {
+            throw new RuntimeException("At most " + maxApplications + " applications can be generated at once");
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT COUNT(*) > 0 FROM users WHERE email = ?",
+                Boolean.class, recruiterEmail(0, seed)))) {
+            throw new RuntimeException("Data for seed " + seed + " already exists; use another seed or an empty database");
+        }
+        int workers = Math.max(1, Math.min(threads, maxThreads));
+        long started = System.nanoTime();
+        // Anchor all dates to a whole day so reruns on the same day are identical
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<Long> userIds = transactionTemplate.execute(status -> insertUsers(users, seed, now));
+        List<Long> jobIds = new ArrayList<>(jobs);
+        List<LocalDateTime> jobCreatedAt = new ArrayList<>(jobs);
+        for (int from = 0; from < jobs; from += chunkSize) {
+            int to = Math.min(jobs, from + chunkSize);
+            int offset = from;
+            jobIds.addAll(transactionTemplate.execute(status ->
+                    insertJobs(offset, to, userIds, seed, now, jobCreatedAt)));
+        }
+
+        List<String> resumePaths = storeResumes(resumes, seed);
+        AtomicLong applications = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "seed-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int worker = 0; worker < workers; worker++) {
+                int first = worker;
+                futures.add(executor.submit(() -> {
+                    ApplicationIdBlock ids = new ApplicationIdBlock(jdbcTemplate);
+                    List<Object[]> batch = new ArrayList<>(chunkSize);
+                    for (int job = first; job < jobIds.size(); job += workers) {
+                        generateApplications(job, jobIds.get(job), jobCreatedAt.get(job), applicationsPerJob,
+                                seed, now, resumePaths, ids, batch);
+                        if (batch.size() >= chunkSize) {
+                            applications.addAndGet(flush(transactionTemplate, batch));
+                        }
+                    }
+                    applications.addAndGet(flush(transactionTemplate, batch));
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Data generation interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new RuntimeException("Data generation failed: " + ex.getCause().getMessage(), ex.getCause());
+        } finally {
+            executor.shutdownNow();
+            // Keeps the resumes the committed rows point at; drops any that ended up unused
+            resumePaths.forEach(fileStorageService::discard);
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        long rows = users + jobs + applications.get();
+        log.info("Generated {} users, {} jobs, {} applications in {} ms", users, jobs, applications.get(), elapsedMillis);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("seed", seed);
+        result.put("usersCreated", users);
+        result.put("jobsCreated", jobs);
+        result.put("applicationsCreated", applications.get());
+        result.put("resumesStored", resumePaths.size());
+        result.put("threads", workers);
+        result.put("elapsedMillis", elapsedMillis);
+        result.put("rowsPerSecond", rows * 1000 / elapsedMillis);
+        result.put("recruiterPassword", PASSWORD);
+        return result;
+    }
+
+    private List<Long> insertUsers(int count, long seed, LocalDateTime now) {
+        SplittableRandom random = new SplittableRandom(seed);
+        // One hash for every generated account; BCrypt per row would dominate the run
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_USER, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                        ps.setString(1, first + " " + last);
+                        ps.setString(2, recruiterEmail(i, seed));
+                        ps.setString(3, passwordHash);
+                        ps.setTimestamp(4, Timestamp.valueOf(now.minusDays(30 + random.nextInt(700))));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                }, keys);
+        return generatedIds(keys);
+    }
+
+    private List<Long> insertJobs(int from, int to, List<Long> userIds, long seed, LocalDateTime now,
+            List<LocalDateTime> createdAtOut) {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int job = from; job < to; job++) {
+            SplittableRandom random = new SplittableRandom(mix(seed, job, 1));
+            String level = LEVELS[random.nextInt(LEVELS.length)];
+            String role = ROLES[random.nextInt(ROLES.length)];
+            String team = TEAMS[random.nextInt(TEAMS.length)];
+            String title = (level.isEmpty() ? "" : level + " ") + role + " - " + team;
+            // Newer postings are more common than old ones
+            LocalDateTime createdAt = now.minusMinutes((long) (Math.pow(random.nextDouble(), 2) * 365 * 24 * 60));
+            boolean active = createdAt.isAfter(now.minusDays(120)) ? random.nextDouble() < 0.9 : random.nextDouble() < 0.2;
+            String description = "The " + team + " team is hiring a " + title + ".\n\nRequirements:\n- "
+                    + (2 + random.nextInt(8)) + "+ years of relevant experience\n- Strong communication skills";
+            rows.add(new Object[] { title, description, active, Timestamp.valueOf(createdAt),
+                    userIds.get(random.nextInt(userIds.size())) });
+            createdAtOut.add(createdAt);
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_JOB, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Object[] row = rows.get(i);
+                        ps.setString(1, (String) row[0]);
+                        ps.setString(2, (String) row[1]);
+                        ps.setBoolean(3, (Boolean) row[2]);
+                        ps.setTimestamp(4, (Timestamp) row[3]);
+                        ps.setLong(5, (Long) row[4]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+        return generatedIds(keys);
+    }
+
+    private void generateApplications(int jobIndex, long jobId, LocalDateTime jobCreatedAt, int meanPerJob,
+            long seed, LocalDateTime now, List<String> resumePaths, ApplicationIdBlock ids, List<Object[]> batch) {
+        SplittableRandom random = new SplittableRandom(mix(seed, jobIndex, 2));
+        // Exponential spread around the mean: most jobs get a few, some get many
+        int count = meanPerJob == 0 ? 0
+                : (int) Math.min(10L * meanPerJob, Math.round(-Math.log(1 - random.nextDouble()) * meanPerJob));
+        long openMinutes = Math.max(1, ChronoUnit.MINUTES.between(jobCreatedAt, now));
+        Set<String> applicants = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            // One in ten candidates is a repeat applicant with a stable identity across jobs
+            SplittableRandom person = random.nextDouble() < 0.1
+                    ? new SplittableRandom(mix(seed, random.nextInt(10_000), 3))
+                    : random;
+            String first = FIRST_NAMES[person.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[person.nextInt(LAST_NAMES.length)];
+            String email = (first + "." + last).toLowerCase() + (person.nextInt(4) == 0 ? "" : person.nextInt(1000))
+                    + "@" + EMAIL_DOMAINS[person.nextInt(EMAIL_DOMAINS.length)];
+            if (!applicants.add(email)) {
+                // One application per candidate and job (uk_applications_job_email)
+                continue;
+            }
+
+            // Applications bunch up in the first weeks after posting
+            double age = Math.pow(random.nextDouble(), 3);
+            LocalDateTime submittedAt = jobCreatedAt.plusMinutes((long) (age * openMinutes))
+                    .plusSeconds(random.nextInt(60));
+            if (submittedAt.isAfter(now)) {
+                submittedAt = now;
+            }
+            ApplicationStatus status = statusFor(random, ChronoUnit.DAYS.between(submittedAt, now));
+
+            String resumePath = null;
+            String resumeName = null;
+            if (!resumePaths.isEmpty() && random.nextDouble() < 0.7) {
+                resumePath = resumePaths.get(random.nextInt(resumePaths.size()));
+                resumeName = first + "_" + last + "_CV.pdf";
+            }
+            batch.add(new Object[] { ids.next(), first + " " + last, email, resumePath, resumeName, status.name(),
+                    Timestamp.valueOf(submittedAt), jobId });
+        }
+    }
+
+    private static ApplicationStatus statusFor(SplittableRandom random, long ageDays) {
+        // Recent applications are mostly untouched; older ones have moved down the funnel
+        if (ageDays < 7 && random.nextDouble() < 0.8) {
+            return ApplicationStatus.NEW;
+        }
+        double roll = random.nextDouble();
+        for (int i = 0; i < FUNNEL.length; i++) {
+            roll -= FUNNEL_WEIGHTS[i];
+            if (roll < 0) {
+                return FUNNEL[i];
+            }
+        }
+        return ApplicationStatus.REJECTED;
+    }
+
+    private long flush(TransactionTemplate transactionTemplate, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int size = batch.size();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_APPLICATION, batch,
+                new int[] { Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                        Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT }));
+        batch.clear();
+        return size;
+    }
+
+    private List<String> storeResumes(int count, long seed) {
+        List<String> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SplittableRandom random = new SplittableRandom(mix(seed, i, 4));
+            byte[] body = new byte[8 * 1024 + random.nextInt(200 * 1024)];
+            random.nextBytes(body);
+            byte[] header = ("%PDF-1.4\n% synthetic resume " + i + " seed " + seed + "\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(header, 0, body, 0, Math.min(header.length, body.length));
+            paths.add(fileStorageService.storeFile(new ByteArrayInputStream(body), "resume-" + i + ".pdf"));
+        }
+        return paths;
+    }
+
+    private static String recruiterEmail(int index, long seed) {
+        return "recruiter" + index + "." + Long.toHexString(seed) + "@seed.example";
+    }
+
+    private static List<Long> generatedIds(KeyHolder keys) {
+        List<Long> ids = new ArrayList<>(keys.getKeyList().size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.get(key.containsKey("id") ? "id" : "ID")).longValue());
+        }
+        return ids;
+    }
+
+    private static long mix(long seed, long index, long stream) {
+        return seed * 0x9E3779B97F4A7C15L + index * 0xC2B2AE3D27D4EB4FL + stream;
+    }
+}
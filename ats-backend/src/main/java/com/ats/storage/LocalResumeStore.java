@@ -0,0 +1,191 @@
+package com.ats.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Pattern;
+
+/**
+ * Resumes in {@code file.upload-dir} on this node. Content hashes are
+ * sharded two levels deep ({@code ab/cd/<sha256><ext>}) so no directory grows
+ * past a few thousand entries; other names are the flat files of older
+ * uploads. Uploads are written to {@code .incoming} first and moved into
+ * place atomically, so readers never see a partial file.
+ */
+@Component
+@ConditionalOnProperty(name = "file.store", havingValue = "local", matchIfMissing = true)
+public class LocalResumeStore implements ResumeStore {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(\\.[A-Za-z0-9]+)?");
+    private static final String TEMP_DIR = ".incoming";
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    private Path fileStoragePath;
+    private Path tempPath;
+
+    @PostConstruct
+    public void init() {
+        this.fileStoragePath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.tempPath = fileStoragePath.resolve(TEMP_DIR);
+        try {
+            Files.createDirectories(this.tempPath);
+        } catch (Exception ex) {
+            throw new RuntimeException("Could not create upload directory", ex);
+        }
+    }
+
+    @Override
+    public StagedResume stage(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(tempPath, "upload-", ".part");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(temp);
+            throw ex;
+        }
+        return new StagedFile(temp);
+    }
+
+    @Override
+    public StoredResume find(String name) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolve(name), BasicFileAttributes.class);
+            return attributes.isRegularFile()
+                    ? new StoredResume(attributes.size(), attributes.lastModifiedTime().toMillis())
+                    : null;
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public InputStream open(String name, long start, long end) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(name), StandardOpenOption.READ);
+        channel.position(start);
+        return new RangeInputStream(Channels.newInputStream(channel), end - start + 1);
+    }
+
+    @Override
+    public void delete(String name) throws IOException {
+        Files.deleteIfExists(resolve(name));
+    }
+
+    @Override
+    public Path localPath(String name) {
+        return resolve(name);
+    }
+
+    private Path resolve(String name) {
+        if (name == null || name.contains("..") || name.contains("/") || name.contains("\\")) {
+            throw new RuntimeException("Invalid file path sequence: " + name);
+        }
+        Path path = CONTENT_ADDRESSED.matcher(name).matches()
+                ? fileStoragePath.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name)
+                : fileStoragePath.resolve(name);
+        return path.normalize();
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Leftover temp files are harmless
+        }
+    }
+
+    private final class StagedFile implements StagedResume {
+        private final Path temp;
+
+        StagedFile(Path temp) {
+            this.temp = temp;
+        }
+
+        @Override
+        public void publish(String name) throws IOException {
+            Path target = resolve(name);
+            if (Files.exists(target)) {
+                Files.delete(temp);
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+            }
+        }
+
+        @Override
+        public void close() {
+            // A no-op once published: the temp file has been moved or deleted
+            deleteQuietly(temp);
+        }
+    }
+
+    // Stops after the requested range instead of reading to the end of the file
+    private static final class RangeInputStream extends FilterInputStream {
+        private long remaining;
+
+        RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ats.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Where resume bytes live. Names are flat ({@code <sha256><ext>}, or the
+ * random names of older uploads) and immutable: whatever is stored under a
+ * name never changes, so a name that already exists never needs writing
+ * again. Reference counting, name validation and hashing stay with
+ * {@link com.ats.service.FileStorageService}.
+ *
+ * {@code file.store} picks the implementation: {@code local} (default) for a
+ * directory on this node, {@code s3} for a bucket every node shares.
+ */
+public interface ResumeStore {
+
+    /**
+     * Streams the content somewhere temporary. The caller names it once the
+     * stream is consumed (the name is its hash) and publishes it, or closes
+     * the handle to throw it away.
+     */
+    StagedResume stage(InputStream content) throws IOException;
+
+    /**
+     * Size and last modification of a stored name, or null if it is not
+     * stored.
+     */
+    StoredResume find(String name) throws IOException;
+
+    /**
+     * Bytes {@code start} to {@code end}, both inclusive, read as they are
+     * consumed.
+     */
+    InputStream open(String name, long start, long end) throws IOException;
+
+    /**
+     * Removes a name; a missing one is not an error.
+     */
+    void delete(String name) throws IOException;
+
+    /**
+     * The file behind a name when it sits on local disk, so downloads can
+     * use sendfile; null for remote stores.
+     */
+    default Path localPath(String name) {
+        return null;
+    }
+}
@@ -0,0 +1,262 @@
+package com.ats.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumes in an S3-compatible bucket, shared by every node. Objects are
+ * stored flat under {@code file.s3.prefix}.
+ *
+ * An upload that fits in one {@code file.s3.part-size} buffer is held in
+ * memory and written with a single PUT. Anything larger is streamed as a
+ * multipart upload, one part buffered at a time, to a staging key under
+ * {@code .incoming/}: the final key is the content hash, which is only known
+ * once the last byte is read, so publishing copies the staged object into
+ * place server-side and deletes the staging key. A bucket lifecycle rule on
+ * {@code .incoming/} cleans up after nodes that die mid-upload.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.store", havingValue = "s3")
+public class S3ResumeStore implements ResumeStore {
+
+    private static final String STAGING_PREFIX = ".incoming/";
+
+    @Value("${file.s3.bucket}")
+    private String bucket;
+
+    @Value("${file.s3.prefix:}")
+    private String prefix;
+
+    // Blank = AWS; set for MinIO, Ceph, R2 and the like
+    @Value("${file.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${file.s3.region:us-east-1}")
+    private String region;
+
+    // Blank = the default AWS credential chain
+    @Value("${file.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${file.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${file.s3.path-style:false}")
+    private boolean pathStyle;
+
+    // S3 needs at least 5MB for every part but the last
+    @Value("${file.s3.part-size:8MB}")
+    private DataSize partSize;
+
+    private S3Client s3;
+
+    @PostConstruct
+    public void init() {
+        if (partSize.toBytes() < DataSize.ofMegabytes(5).toBytes()) {
+            throw new IllegalStateException("file.s3.part-size must be at least 5MB");
+        }
+        S3ClientBuilder builder = S3Client.builder()
+                .httpClient(UrlConnectionHttpClient.create())
+                .region(Region.of(region))
+                .forcePathStyle(pathStyle)
+                // Content is addressed by SHA-256 already; skip the SDK's extra CRC pass over every byte
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED);
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        builder.credentialsProvider(StringUtils.hasText(accessKey)
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.builder().build());
+        s3 = builder.build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        s3.close();
+    }
+
+    @Override
+    public StagedResume stage(InputStream content) throws IOException {
+        // Sized to what was read, so small resumes don't cost a whole part buffer
+        byte[] first = content.readNBytes(Math.toIntExact(partSize.toBytes()));
+        if (first.length < partSize.toBytes()) {
+            return new StagedBytes(first);
+        }
+        return uploadParts(content, first);
+    }
+
+    @Override
+    public StoredResume find(String name) throws IOException {
+        try {
+            HeadObjectResponse head = s3.headObject(request -> request.bucket(bucket).key(key(name)));
+            return new StoredResume(head.contentLength(), head.lastModified().toEpochMilli());
+        } catch (NoSuchKeyException ex) {
+            return null;
+        } catch (S3Exception ex) {
+            // HEAD responses have no body, so a missing key may only show as a bare 404
+            if (ex.statusCode() == 404) {
+                return null;
+            }
+            throw new IOException("Could not look up " + name, ex);
+        } catch (SdkException ex) {
+            throw new IOException("Could not look up " + name, ex);
+        }
+    }
+
+    @Override
+    public InputStream open(String name, long start, long end) throws IOException {
+        try {
+            return s3.getObject(request -> request.bucket(bucket).key(key(name)).range("bytes=" + start + "-" + end));
+        } catch (SdkException ex) {
+            throw new IOException("Could not read " + name, ex);
+        }
+    }
+
+    @Override
+    public void delete(String name) throws IOException {
+        try {
+            s3.deleteObject(request -> request.bucket(bucket).key(key(name)));
+        } catch (SdkException ex) {
+            throw new IOException("Could not delete " + name, ex);
+        }
+    }
+
+    private StagedResume uploadParts(InputStream content, byte[] buffer) throws IOException {
+        String stagingKey = prefix + STAGING_PREFIX + UUID.randomUUID();
+        String uploadId;
+        try {
+            uploadId = s3.createMultipartUpload(request -> request.bucket(bucket).key(stagingKey)).uploadId();
+        } catch (SdkException ex) {
+            throw new IOException("Could not start upload", ex);
+        }
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int length = buffer.length;
+            while (length > 0) {
+                int partNumber = parts.size() + 1;
+                String etag = s3.uploadPart(request -> request.bucket(bucket).key(stagingKey)
+                                .uploadId(uploadId).partNumber(partNumber),
+                        RequestBody.fromByteBuffer(ByteBuffer.wrap(buffer, 0, length))).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(etag).build());
+                length = content.readNBytes(buffer, 0, buffer.length);
+            }
+            s3.completeMultipartUpload(request -> request.bucket(bucket).key(stagingKey)
+                    .uploadId(uploadId).multipartUpload(upload -> upload.parts(parts)));
+        } catch (IOException | RuntimeException ex) {
+            try {
+                s3.abortMultipartUpload(request -> request.bucket(bucket).key(stagingKey).uploadId(uploadId));
+            } catch (SdkException abortFailure) {
+                ex.addSuppressed(abortFailure);
+            }
+            if (ex instanceof SdkException) {
+                throw new IOException("Could not upload", ex);
+            }
+            throw ex;
+        }
+        return new StagedObject(stagingKey);
+    }
+
+    private boolean exists(String key) {
+        try {
+            s3.headObject(request -> request.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException ex) {
+            return false;
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    private String key(String name) {
+        return prefix + name;
+    }
+
+    private final class StagedBytes implements StagedResume {
+        private final byte[] content;
+
+        StagedBytes(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public void publish(String name) throws IOException {
+            String key = key(name);
+            try {
+                if (!exists(key)) {
+                    s3.putObject(request -> request.bucket(bucket).key(key), RequestBody.fromBytes(content));
+                }
+            } catch (SdkException ex) {
+                throw new IOException("Could not store " + name, ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            // Nothing was written
+        }
+    }
+
+    private final class StagedObject implements StagedResume {
+        private final String stagingKey;
+
+        StagedObject(String stagingKey) {
+            this.stagingKey = stagingKey;
+        }
+
+        @Override
+        public void publish(String name) throws IOException {
+            String key = key(name);
+            try {
+                if (!exists(key)) {
+                    s3.copyObject(request -> request.sourceBucket(bucket).sourceKey(stagingKey)
+                            .destinationBucket(bucket).destinationKey(key));
+                }
+            } catch (SdkException ex) {
+                throw new IOException("Could not store " + name, ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                s3.deleteObject(request -> request.bucket(bucket).key(stagingKey));
+            } catch (SdkException ex) {
+                log.warn("Could not delete staged upload {}", stagingKey, ex);
+            }
+        }
+    }
+}
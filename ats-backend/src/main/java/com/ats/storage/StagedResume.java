@@ -0,0 +1,19 @@
+package com.ats.storage;
+
+import java.io.IOException;
+
+/**
+ * Uploaded bytes not yet visible under a name. Closing a handle that was
+ * not published deletes what was staged.
+ */
+public interface StagedResume extends AutoCloseable {
+
+    /**
+     * Makes the staged bytes readable under {@code name}. If the name already
+     * exists it holds the same bytes, and the staged copy is dropped.
+     */
+    void publish(String name) throws IOException;
+
+    @Override
+    void close();
+}
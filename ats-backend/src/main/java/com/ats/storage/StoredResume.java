@@ -0,0 +1,8 @@
+package com.ats.storage;
+
+/**
+ * Metadata of a stored resume; {@code lastModified} is in epoch
+ * milliseconds.
+ */
+public record StoredResume(long size, long lastModified) {
+}
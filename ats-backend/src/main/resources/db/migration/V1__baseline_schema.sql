@@ -0,0 +1,36 @@
+-- Schema exactly as Hibernate's ddl-auto=update created it before Flyway, down
+-- to the generated constraint names. Databases created that way are baselined
+-- at this version (spring.flyway.baseline-on-migrate) and skip it, so every
+-- later change belongs in V2 onwards.
+
+CREATE TABLE users (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at timestamp(6),
+    email      varchar(255) NOT NULL,
+    full_name  varchar(255) NOT NULL,
+    password   varchar(255) NOT NULL,
+    role       varchar(255) CHECK (role IN ('RECRUITER', 'ADMIN')),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE jobs (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    active      boolean,
+    created_at  timestamp(6),
+    description text,
+    title       varchar(255) NOT NULL,
+    created_by  bigint,
+    CONSTRAINT fkag1hj06pxsv6fexoubroe6mn4 FOREIGN KEY (created_by) REFERENCES users (id)
+);
+
+CREATE TABLE applications (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    candidate_email      varchar(255) NOT NULL,
+    candidate_name       varchar(255) NOT NULL,
+    resume_original_name varchar(255),
+    resume_path          varchar(255),
+    status               varchar(255) CHECK (status IN ('NEW', 'SHORTLISTED', 'INTERVIEWED', 'REJECTED', 'HIRED')),
+    submitted_at         timestamp(6),
+    job_id               bigint NOT NULL,
+    CONSTRAINT fk65weib1lru9dkrbto5pv389vi FOREIGN KEY (job_id) REFERENCES jobs (id)
+);
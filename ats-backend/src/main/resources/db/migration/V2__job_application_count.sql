@@ -0,0 +1,8 @@
+-- Per-job application counter, kept current on every write instead of
+-- counting per listing. A database that ran ddl-auto=update after the counter
+-- was introduced already has the column; either way it is recounted here.
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS application_count bigint DEFAULT 0 NOT NULL;
+
+UPDATE jobs j
+SET application_count = (SELECT COUNT(*) FROM applications a WHERE a.job_id = j.id);
@@ -0,0 +1,15 @@
+-- Application ids come from a pooled sequence instead of the IDENTITY column,
+-- so inserts can be JDBC-batched. A database that ran ddl-auto=update after
+-- the switch already has the sequence, next to an identity that ddl-auto never
+-- dropped.
+CREATE SEQUENCE IF NOT EXISTS applications_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE applications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Hibernate's pooled optimizer uses the 50 ids ending at each nextval, so the
+-- next value must be at least 50 above both the highest id and the last block
+-- already handed out.
+SELECT setval('applications_seq',
+        GREATEST((SELECT COALESCE(MAX(id), 0) FROM applications) + 51,
+                 (SELECT last_value FROM applications_seq) + 50),
+        false);
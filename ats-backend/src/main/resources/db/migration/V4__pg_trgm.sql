@@ -0,0 +1,2 @@
+-- Trigram operator classes for the case-insensitive candidate search indexes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,42 @@
+-- Indexes for the hot read paths. Built CONCURRENTLY so intake keeps writing
+-- during the migration; Flyway runs this file outside a transaction. A failed
+-- build leaves an INVALID index behind, so a re-run drops each one first.
+
+-- Applications of one job, newest first (findByJobIdOrderBySubmittedAtDesc,
+-- the jobId filter and its keyset pages, per-job counts)
+DROP INDEX CONCURRENTLY IF EXISTS idx_applications_job_submitted;
+CREATE INDEX CONCURRENTLY idx_applications_job_submitted
+    ON applications (job_id, submitted_at DESC, id DESC);
+
+-- Applications in one status, newest first (the status filter, countByStatus)
+DROP INDEX CONCURRENTLY IF EXISTS idx_applications_status_submitted;
+CREATE INDEX CONCURRENTLY idx_applications_status_submitted
+    ON applications (status, submitted_at DESC, id DESC);
+
+-- Unfiltered listing and its keyset pages
+DROP INDEX CONCURRENTLY IF EXISTS idx_applications_submitted;
+CREATE INDEX CONCURRENTLY idx_applications_submitted
+    ON applications (submitted_at DESC, id DESC);
+
+-- Whether a stored resume is still referenced before deleting the file
+DROP INDEX CONCURRENTLY IF EXISTS idx_applications_resume_path;
+CREATE INDEX CONCURRENTLY idx_applications_resume_path
+    ON applications (resume_path);
+
+-- LOWER(...) LIKE '%query%' search on name and email
+DROP INDEX CONCURRENTLY IF EXISTS idx_applications_candidate_name_trgm;
+CREATE INDEX CONCURRENTLY idx_applications_candidate_name_trgm
+    ON applications USING gin (lower(candidate_name) gin_trgm_ops);
+DROP INDEX CONCURRENTLY IF EXISTS idx_applications_candidate_email_trgm;
+CREATE INDEX CONCURRENTLY idx_applications_candidate_email_trgm
+    ON applications USING gin (lower(candidate_email) gin_trgm_ops);
+
+-- Public job board (findByActiveTrueOrderByCreatedAtDesc)
+DROP INDEX CONCURRENTLY IF EXISTS idx_jobs_active_created;
+CREATE INDEX CONCURRENTLY idx_jobs_active_created
+    ON jobs (active, created_at DESC);
+
+-- A recruiter's own jobs (findByCreatedByIdOrderByCreatedAtDesc)
+DROP INDEX CONCURRENTLY IF EXISTS idx_jobs_created_by_created;
+CREATE INDEX CONCURRENTLY idx_jobs_created_by_created
+    ON jobs (created_by, created_at DESC);
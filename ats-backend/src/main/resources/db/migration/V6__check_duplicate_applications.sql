@@ -0,0 +1,37 @@
+-- A candidate applies to a job once; V7 enforces it per (job, lower(email)).
+-- Applications that already break the rule are real candidate data with
+-- their own status and resume, so nothing is removed here: the migration
+-- stops and lists the conflicting (job, email) pairs with their application
+-- ids and resume paths for an operator to resolve. It runs in a transaction,
+-- so a failed run changes nothing and the deploy can simply be retried.
+
+DO $$
+DECLARE
+    conflicts bigint;
+    listing   text;
+BEGIN
+    SELECT COUNT(*) INTO conflicts
+    FROM (SELECT 1 FROM applications GROUP BY job_id, lower(candidate_email) HAVING COUNT(*) > 1) d;
+    IF conflicts = 0 THEN
+        RETURN;
+    END IF;
+
+    SELECT string_agg(format('job %s, %s: %s', job_id, email, copies), E'\n' ORDER BY job_id, email)
+    INTO listing
+    FROM (
+        SELECT job_id,
+               lower(candidate_email) AS email,
+               string_agg(format('#%s %s %s', id, status, COALESCE(resume_path, '-')), ', ' ORDER BY id) AS copies
+        FROM applications
+        GROUP BY job_id, lower(candidate_email)
+        HAVING COUNT(*) > 1
+        ORDER BY job_id, lower(candidate_email)
+        LIMIT 100
+    ) d;
+
+    RAISE EXCEPTION '% candidate(s) applied more than once to the same job; '
+                    'the unique index in V7 cannot be built', conflicts
+        USING DETAIL = 'First 100 (job, email: #id status resume_path, ...):' || E'\n' || listing,
+              HINT = 'Keep one application per job and email (delete or archive the others, with their '
+                     'resume files, and correct jobs.application_count), then restart to re-run the migration.';
+END $$;
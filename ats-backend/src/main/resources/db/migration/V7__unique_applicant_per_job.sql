@@ -0,0 +1,9 @@
+-- One application per candidate email and job, case-insensitively. Also the
+-- lookup behind the duplicate check on submit. Built CONCURRENTLY, outside a
+-- transaction; a failed build leaves an INVALID index behind, so a re-run
+-- drops it first.
+
+DROP INDEX CONCURRENTLY IF EXISTS uk_applications_job_email;
+
+CREATE UNIQUE INDEX CONCURRENTLY uk_applications_job_email
+    ON applications (job_id, lower(candidate_email));
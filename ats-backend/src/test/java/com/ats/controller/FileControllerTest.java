@@ -0,0 +1,140 @@
+package com.ats.controller;
+
+import com.ats.service.FileStorageService;
+import com.ats.storage.StoredResume;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Range and conditional handling of resume downloads, served from a file on
+ * local disk.
+ */
+class FileControllerTest {
+
+    private static final String FILE_NAME = "resume.pdf";
+    private static final String ETAG = "\"" + FILE_NAME + "\"";
+    private static final String BODY = "0123456789abcdefghij";
+    private static final long LAST_MODIFIED = Instant.parse("2026-10-01T12:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path uploads;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = Files.writeString(uploads.resolve(FILE_NAME), BODY, StandardCharsets.US_ASCII);
+        FileStorageService fileStorageService = mock(FileStorageService.class);
+        when(fileStorageService.find(FILE_NAME)).thenReturn(new StoredResume(BODY.length(), LAST_MODIFIED));
+        when(fileStorageService.localPath(FILE_NAME)).thenReturn(file);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileController(fileStorageService)).build();
+    }
+
+    @Test
+    void wholeFileWithValidators() throws Exception {
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, BODY.length()))
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void singleRangeIsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().string("56789"));
+    }
+
+    @Test
+    void openAndSuffixRanges() throws Exception {
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.RANGE, "bytes=15-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 15-19/20"))
+                .andExpect(content().string("fghij"));
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 17-19/20"))
+                .andExpect(content().string("hij"));
+        // An end past the file is clamped to it
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.RANGE, "bytes=18-100"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 18-19/20"))
+                .andExpect(content().string("ij"));
+    }
+
+    @Test
+    void unsatisfiableRangeIs416() throws Exception {
+        for (String range : new String[] { "bytes=20-", "bytes=9-5", "bytes=abc", "items=0-1" }) {
+            mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+        }
+    }
+
+    @Test
+    void multipleRangesGetTheWholeFile() throws Exception {
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.RANGE, "bytes=0-1,5-6"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+    }
+
+    @Test
+    void staleIfRangeGetsTheWholeFile() throws Exception {
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME)
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .header(HttpHeaders.IF_RANGE, "\"other.pdf\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME)
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent());
+    }
+
+    @Test
+    void conditionalRequestsAreNotModified() throws Exception {
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.IF_NONE_MATCH, "\"a\", " + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.IF_MODIFIED_SINCE,
+                        httpDate(LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME).header(HttpHeaders.IF_MODIFIED_SINCE,
+                        httpDate(LAST_MODIFIED - 60_000)))
+                .andExpect(status().isOk());
+        // If-None-Match wins over If-Modified-Since
+        mockMvc.perform(get("/api/files/download/" + FILE_NAME)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other.pdf\"")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(LAST_MODIFIED)))
+                .andExpect(status().isOk());
+    }
+
+    private static String httpDate(long epochMillis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,132 @@
+package com.ats.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot queries can be served from the indexes the migrations
+ * create. The database in {@code PLAN_CHECK_DATABASE_URL} (PostgreSQL, with
+ * {@code PLAN_CHECK_DATABASE_USERNAME} and {@code PLAN_CHECK_DATABASE_PASSWORD})
+ * is migrated first, then each query is EXPLAINed with sequential scans
+ * priced out, so the planner takes any index that fits; a plan that still
+ * reads applications or jobs end to end (a Seq Scan, or an index scan with no
+ * index condition) means an index is missing or the query cannot use it.
+ * Use an empty schema or production-like data: on a skewed sample (every row
+ * in one job) walking the whole index in order is the right plan.
+ */
+@EnabledIfEnvironmentVariable(named = "PLAN_CHECK_DATABASE_URL", matches = "jdbc:postgresql:.+")
+class QueryPlanTest {
+
+    private static final Set<String> HOT_TABLES = Set.of("applications", "jobs");
+
+    private static final String AFTER_CURSOR = "a.submitted_at <= TIMESTAMP '2026-01-01 00:00' AND " +
+            "(a.submitted_at < TIMESTAMP '2026-01-01 00:00' OR a.id < 1000) ";
+    private static final String NEWEST_PAGE = "ORDER BY a.submitted_at DESC, a.id DESC LIMIT 50";
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        String url = System.getenv("PLAN_CHECK_DATABASE_URL");
+        String username = Objects.requireNonNullElse(System.getenv("PLAN_CHECK_DATABASE_USERNAME"), "postgres");
+        String password = Objects.requireNonNullElse(System.getenv("PLAN_CHECK_DATABASE_PASSWORD"), "");
+        // Same settings as spring.flyway.* in application.properties
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(url, username, password);
+        connection.setAutoCommit(false);
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    // SQL equivalents of the repository queries, with representative values. The
+    // job title join is left out: it goes by primary key, and with few jobs the
+    // planner rightly hashes the whole table.
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("applications of a job",
+                        "SELECT a.id FROM applications a WHERE a.job_id = 1 " + NEWEST_PAGE),
+                Arguments.of("applications of a job, next page",
+                        "SELECT a.id FROM applications a WHERE a.job_id = 1 AND " + AFTER_CURSOR + NEWEST_PAGE),
+                Arguments.of("applications in a status",
+                        "SELECT a.id FROM applications a WHERE a.status = 'NEW' " + NEWEST_PAGE),
+                Arguments.of("applications in a status, next page",
+                        "SELECT a.id FROM applications a WHERE a.status = 'NEW' AND " + AFTER_CURSOR + NEWEST_PAGE),
+                Arguments.of("all applications, next page",
+                        "SELECT a.id FROM applications a WHERE " + AFTER_CURSOR + NEWEST_PAGE),
+                Arguments.of("count by status",
+                        "SELECT COUNT(*) FROM applications WHERE status = 'NEW'"),
+                // The predicate alone: with many matches the planner may rightly walk submitted_at instead
+                Arguments.of("candidate search",
+                        "SELECT COUNT(*) FROM applications WHERE lower(candidate_name) LIKE '%smith%' " +
+                                "OR lower(candidate_email) LIKE '%smith%'"),
+                Arguments.of("already applied",
+                        "SELECT COUNT(*) FROM applications WHERE job_id = 1 AND lower(candidate_email) = 'a@example.com'"),
+                Arguments.of("resume still referenced",
+                        "SELECT COUNT(*) FROM applications WHERE resume_path = 'resume.pdf'"),
+                Arguments.of("active jobs",
+                        "SELECT id FROM jobs WHERE active = true ORDER BY created_at DESC"),
+                Arguments.of("jobs of a recruiter",
+                        "SELECT id FROM jobs WHERE created_by = 1 ORDER BY created_at DESC"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryIsIndexDriven(String name, String sql) throws SQLException {
+        List<String> fullScans = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL enable_seqscan = off");
+            try (ResultSet plan = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+                plan.next();
+                collectFullScans(JSON.readTree(plan.getString(1)).get(0).get("Plan"), fullScans);
+            }
+        }
+        assertThat(fullScans).as(name).isEmpty();
+    }
+
+    private static void collectFullScans(JsonNode plan, List<String> fullScans) {
+        String nodeType = plan.path("Node Type").asString("");
+        String relation = plan.path("Relation Name").asString("");
+        boolean unconditionedIndexScan = nodeType.startsWith("Index") && !plan.has("Index Cond");
+        if (HOT_TABLES.contains(relation) && (nodeType.equals("Seq Scan") || unconditionedIndexScan)) {
+            fullScans.add(nodeType + " on " + relation);
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectFullScans(child, fullScans);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.ats.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Databases that predate Flyway were created by Hibernate's ddl-auto and are
+ * baselined at V1, so V2 onwards must bring them to the schema a fresh
+ * database gets from V1. Each test works in scratch databases created on the
+ * server of {@code PLAN_CHECK_DATABASE_URL} (see {@link QueryPlanTest}) and
+ * dropped afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "PLAN_CHECK_DATABASE_URL", matches = "jdbc:postgresql:.+")
+class SchemaMigrationTest {
+
+    private static final String DDL_AUTO_SCHEMA = "/db/ddl-auto-schema.sql";
+
+    private final String url = System.getenv("PLAN_CHECK_DATABASE_URL");
+    private final String username = Objects.requireNonNullElse(System.getenv("PLAN_CHECK_DATABASE_USERNAME"), "postgres");
+    private final String password = Objects.requireNonNullElse(System.getenv("PLAN_CHECK_DATABASE_PASSWORD"), "");
+    private final List<String> scratchDatabases = new ArrayList<>();
+
+    private String legacy;
+    private String fresh;
+
+    @BeforeEach
+    void createDatabases() throws SQLException {
+        legacy = createScratchDatabase();
+        fresh = createScratchDatabase();
+    }
+
+    @AfterEach
+    void dropDatabases() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+                Statement statement = connection.createStatement()) {
+            for (String database : scratchDatabases) {
+                statement.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+            }
+        }
+    }
+
+    @Test
+    void ddlAutoDatabaseIsMigratedToTheFreshSchema() throws Exception {
+        try (Connection connection = connect(legacy)) {
+            runScript(connection, DDL_AUTO_SCHEMA);
+            insertLegacyRows(connection);
+        }
+
+        migrate(legacy);
+        migrate(fresh);
+
+        try (Connection connection = connect(legacy)) {
+            assertThat(query(connection, "SELECT title, application_count FROM jobs ORDER BY title"))
+                    .containsExactly("Backend Engineer|3", "Designer|1", "Product Manager|0");
+            assertIdsComeFromTheSequence(connection);
+        }
+        assertThat(schema(legacy)).isEqualTo(schema(fresh));
+    }
+
+    @Test
+    void databaseFromAfterTheSequenceSwitchIsMigratedToTheFreshSchema() throws Exception {
+        // ddl-auto=update added the counter and the sequence but kept the identity
+        try (Connection connection = connect(legacy)) {
+            runScript(connection, DDL_AUTO_SCHEMA);
+            insertLegacyRows(connection);
+            execute(connection, "alter table if exists jobs add column application_count bigint default 0 not null");
+            execute(connection, "create sequence applications_seq start with 1 increment by 50");
+            execute(connection, "SELECT setval('applications_seq', 1001)");
+        }
+
+        migrate(legacy);
+        migrate(fresh);
+
+        try (Connection connection = connect(legacy)) {
+            assertThat(query(connection, "SELECT title, application_count FROM jobs ORDER BY title"))
+                    .containsExactly("Backend Engineer|3", "Designer|1", "Product Manager|0");
+            // Not moved back below the blocks already handed out
+            assertThat(Long.parseLong(query(connection, "SELECT nextval('applications_seq')").get(0)))
+                    .isGreaterThanOrEqualTo(1051);
+        }
+        assertThat(schema(legacy)).isEqualTo(schema(fresh));
+    }
+
+    @Test
+    void duplicateApplicationsStopTheMigrationUntilResolved() throws Exception {
+        try (Connection connection = connect(legacy)) {
+            runScript(connection, DDL_AUTO_SCHEMA);
+            insertLegacyRows(connection);
+            execute(connection, "INSERT INTO applications (candidate_name, candidate_email, resume_path, status, " +
+                    "submitted_at, job_id) VALUES ('Anna', 'Anna@Mail.example', 'anna.pdf', 'NEW', now(), 1)");
+        }
+
+        assertThatThrownBy(() -> migrate(legacy))
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("1 candidate(s) applied more than once to the same job")
+                .hasMessageContaining("job 1, anna@mail.example: #1 NEW -, #5 NEW anna.pdf");
+
+        try (Connection connection = connect(legacy)) {
+            assertThat(query(connection, "SELECT COUNT(*) FROM applications")).containsExactly("5");
+            // Resolved by the operator as the hint says (V2 already counted the copy), then the deploy is retried
+            execute(connection, "DELETE FROM applications WHERE id = 5");
+            execute(connection, "UPDATE jobs SET application_count = application_count - 1 WHERE id = 1");
+        }
+        migrate(legacy);
+
+        try (Connection connection = connect(legacy)) {
+            assertThat(query(connection, "SELECT title, application_count FROM jobs ORDER BY title"))
+                    .containsExactly("Backend Engineer|3", "Designer|1", "Product Manager|0");
+            assertThat(query(connection, "SELECT indexname FROM pg_indexes WHERE indexname = 'uk_applications_job_email'"))
+                    .containsExactly("uk_applications_job_email");
+        }
+    }
+
+    private void insertLegacyRows(Connection connection) throws SQLException {
+        execute(connection, "INSERT INTO users (email, full_name, password, role, created_at) " +
+                "VALUES ('recruiter@mail.example', 'Recruiter', 'hash', 'RECRUITER', now())");
+        execute(connection, "INSERT INTO jobs (title, active, created_at, created_by) VALUES " +
+                "('Backend Engineer', true, now(), 1), ('Designer', true, now(), 1), " +
+                "('Product Manager', false, now(), 1)");
+        execute(connection, "INSERT INTO applications (candidate_name, candidate_email, status, submitted_at, job_id) " +
+                "VALUES ('Anna', 'anna@mail.example', 'NEW', now(), 1), " +
+                "('Ben', 'ben@mail.example', 'HIRED', now(), 1), " +
+                "('Cleo', 'cleo@mail.example', 'NEW', now(), 1), " +
+                "('Anna', 'anna@mail.example', 'SHORTLISTED', now(), 2)");
+        // Identity ids need not be dense
+        execute(connection, "UPDATE applications SET id = id + 500 WHERE candidate_name = 'Cleo'");
+    }
+
+    private void assertIdsComeFromTheSequence(Connection connection) throws SQLException {
+        assertThat(query(connection, "SELECT is_identity FROM information_schema.columns " +
+                "WHERE table_name = 'applications' AND column_name = 'id'")).containsExactly("NO");
+        long next = Long.parseLong(query(connection, "SELECT nextval('applications_seq')").get(0));
+        // The pooled optimizer hands out the 50 ids ending at next
+        assertThat(next - 50).isGreaterThan(503);
+    }
+
+    private void migrate(String database) {
+        // Same settings as spring.flyway.* in application.properties
+        Flyway.configure()
+                .dataSource(urlOf(database), username, password)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    // Columns, constraints and sequences, one line each
+    private List<String> schema(String database) throws SQLException {
+        try (Connection connection = connect(database)) {
+            List<String> schema = new ArrayList<>();
+            schema.addAll(query(connection, "SELECT table_name, column_name, data_type, character_maximum_length, " +
+                    "is_nullable, column_default, is_identity FROM information_schema.columns " +
+                    "WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history' " +
+                    "ORDER BY table_name, column_name"));
+            schema.addAll(query(connection, "SELECT conrelid::regclass::text, conname, pg_get_constraintdef(oid) " +
+                    "FROM pg_constraint WHERE connamespace = 'public'::regnamespace " +
+                    "AND conrelid <> 'flyway_schema_history'::regclass ORDER BY 1, 2"));
+            schema.addAll(query(connection, "SELECT indexrelid::regclass::text, pg_get_indexdef(indexrelid) FROM pg_index " +
+                    "WHERE indrelid IN ('users'::regclass, 'jobs'::regclass, 'applications'::regclass) ORDER BY 1"));
+            schema.addAll(query(connection, "SELECT sequencename, increment_by FROM pg_sequences " +
+                    "WHERE schemaname = 'public' ORDER BY 1"));
+            return schema;
+        }
+    }
+
+    private String createScratchDatabase() throws SQLException {
+        String database = "ats_migration_" + UUID.randomUUID().toString().replace("-", "");
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        }
+        scratchDatabases.add(database);
+        return database;
+    }
+
+    private Connection connect(String database) throws SQLException {
+        return DriverManager.getConnection(urlOf(database), username, password);
+    }
+
+    private String urlOf(String database) {
+        int query = url.indexOf('?');
+        String base = query < 0 ? url : url.substring(0, query);
+        return base.substring(0, base.lastIndexOf('/') + 1) + database + (query < 0 ? "" : url.substring(query));
+    }
+
+    private static void runScript(Connection connection, String resource) throws IOException, SQLException {
+        try (InputStream in = SchemaMigrationTest.class.getResourceAsStream(resource)) {
+            String script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            for (String sql : script.split(";\\s*\\n")) {
+                String withoutComments = sql.lines().filter(line -> !line.startsWith("--"))
+                        .reduce("", (a, b) -> a + "\n" + b);
+                if (!withoutComments.isBlank()) {
+                    execute(connection, withoutComments);
+                }
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<String> query(Connection connection, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 1; i <= columns; i++) {
+                    row.append(i > 1 ? "|" : "").append(resultSet.getString(i));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+}
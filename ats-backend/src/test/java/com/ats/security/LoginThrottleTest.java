@@ -0,0 +1,127 @@
+package com.ats.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(throttle, "enabled", true);
+        ReflectionTestUtils.setField(throttle, "addressCapacity", 3);
+        ReflectionTestUtils.setField(throttle, "addressRefill", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(throttle, "accountCapacity", 2);
+        ReflectionTestUtils.setField(throttle, "accountRefill", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(throttle, "trustedAddressTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(throttle, "maxTracked", 100);
+        throttle.init();
+    }
+
+    @Test
+    void burstThenOneAttemptPerRefill() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("10.0.0.1", null, 0);
+        }
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", null, SECOND / 2))
+                .isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+                    assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    // 1.5s until the next token, rounded up
+                    assertThat(ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+                });
+
+        assertThatCode(() -> throttle.acquire("10.0.0.1", null, 2 * SECOND)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", null, 2 * SECOND))
+                .isInstanceOf(ResponseStatusException.class);
+        // Refills never exceed the burst
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("10.0.0.1", null, 60 * SECOND);
+        }
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", null, 60 * SECOND))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void accountsAreLimitedAcrossAddressesIgnoringCase() {
+        throttle.acquire("10.0.0.1", "Someone@Mail.example", 0);
+        throttle.acquire("10.0.0.2", " someone@mail.example", 0);
+
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.3", "SOMEONE@mail.example", 0))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatCode(() -> throttle.acquire("10.0.0.3", "other@mail.example", 0)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void onlyWrongPasswordsCostAnAccountToken() {
+        for (int i = 1; i <= 5; i++) {
+            throttle.acquire("10.0.0." + i, "someone@mail.example", 0).succeeded();
+        }
+        // Failed attempts from new addresses keep their tokens
+        throttle.acquire("10.0.1.1", "someone@mail.example", 0);
+        throttle.acquire("10.0.1.2", "someone@mail.example", 0);
+
+        assertThatThrownBy(() -> throttle.acquire("10.0.1.3", "someone@mail.example", 0))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void trustedAddressOutlivesADrainedAccountBucketUntilItExpires() {
+        throttle.acquire("10.0.0.1", "someone@mail.example", 0).succeeded();
+        throttle.acquire("10.0.0.2", "someone@mail.example", 0);
+        throttle.acquire("10.0.0.3", "someone@mail.example", 0);
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.4", "someone@mail.example", 0))
+                .isInstanceOf(ResponseStatusException.class);
+
+        assertThatCode(() -> throttle.acquire("10.0.0.1", "Someone@Mail.example", SECOND))
+                .doesNotThrowAnyException();
+
+        long hourLater = 3600 * SECOND;
+        throttle.purgeIdle(hourLater);
+        throttle.acquire("10.0.0.2", "someone@mail.example", hourLater);
+        throttle.acquire("10.0.0.3", "someone@mail.example", hourLater);
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", "someone@mail.example", hourLater))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void addressesBeyondTheCapShareOneBucketUntilPurged() {
+        ReflectionTestUtils.setField(throttle, "maxTracked", 2);
+        throttle.acquire("10.0.0.1", null, 0);
+        throttle.acquire("10.0.0.2", null, 0);
+
+        // Both untracked addresses draw from the same overflow bucket
+        throttle.acquire("10.0.0.3", null, 0);
+        throttle.acquire("10.0.0.4", null, 0);
+        throttle.acquire("10.0.0.5", null, 0);
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.6", null, 0))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(addresses()).hasSize(3);
+        // Tracked addresses keep their own buckets
+        assertThatCode(() -> throttle.acquire("10.0.0.1", null, 0)).doesNotThrowAnyException();
+
+        throttle.purgeIdle(60 * SECOND);
+        assertThat(addresses()).isEmpty();
+        assertThatCode(() -> throttle.acquire("10.0.0.6", null, 60 * SECOND)).doesNotThrowAnyException();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> addresses() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(throttle, "addresses");
+    }
+}
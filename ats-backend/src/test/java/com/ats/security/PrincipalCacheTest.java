@@ -0,0 +1,64 @@
+package com.ats.security;
+
+import com.ats.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "recruiter@mail.example";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private User.Role storedRole = User.Role.RECRUITER;
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 10);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofHours(1));
+    }
+
+    @Test
+    void keepsTheIdentityButNotThePasswordHash() {
+        User principal = cache.get(EMAIL, loader());
+        User cached = cache.get(EMAIL, loader());
+
+        assertThat(loads).hasValue(1);
+        for (User user : new User[] {principal, cached}) {
+            assertThat(user.getId()).isEqualTo(7L);
+            assertThat(user.getEmail()).isEqualTo(EMAIL);
+            assertThat(user.getFullName()).isEqualTo("Recruiter");
+            assertThat(user.getRole()).isEqualTo(User.Role.RECRUITER);
+            assertThat(user.getPassword()).isNull();
+        }
+    }
+
+    @Test
+    void evictedUsersAreLoadedAgain() {
+        cache.get(EMAIL, loader());
+        storedRole = User.Role.ADMIN;
+        assertThat(cache.get(EMAIL, loader()).getRole()).isEqualTo(User.Role.RECRUITER);
+
+        cache.evict(EMAIL);
+
+        assertThat(cache.get(EMAIL, loader()).getRole()).isEqualTo(User.Role.ADMIN);
+        assertThat(loads).hasValue(2);
+    }
+
+    private Function<String, User> loader() {
+        return email -> {
+            loads.incrementAndGet();
+            return User.builder().id(7L).email(email).fullName("Recruiter").password("$2a$10$hash").role(storedRole)
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.ats.service;
+
+import com.ats.dto.IntakeStatus;
+import com.ats.dto.IntakeStatus.State;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tracking state stays bounded and nothing accepted is lost on shutdown.
+ */
+class ApplicationIntakeServiceTest {
+
+    private static final long JOB_ID = 1L;
+
+    private ApplicationIntakeService intake;
+
+    @BeforeEach
+    void setUp() {
+        JobRepository jobRepository = mock(JobRepository.class);
+        when(jobRepository.findActiveFlagById(anyLong())).thenReturn(Optional.of(true));
+        intake = new ApplicationIntakeService(mock(ApplicationRepository.class), jobRepository,
+                mock(FileStorageService.class), mock(DuplicateApplicationGuard.class),
+                mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(intake, "mode", "async");
+        ReflectionTestUtils.setField(intake, "queueCapacity", 100);
+        ReflectionTestUtils.setField(intake, "batchSize", 10);
+        ReflectionTestUtils.setField(intake, "flushInterval", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(intake, "offerTimeout", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(intake, "statusRetention", Duration.ofHours(1));
+        ReflectionTestUtils.setField(intake, "maxTracked", 3);
+        intake.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        intake.stop();
+    }
+
+    @Test
+    void oldestFinishedTicketsAreForgottenAtTheBound() throws InterruptedException {
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String trackingId = submit(i).getTrackingId();
+            awaitAccepted(trackingId);
+            trackingIds.add(trackingId);
+        }
+
+        assertThatThrownBy(() -> intake.getStatus(trackingIds.get(0))).hasMessage("Unknown tracking id");
+        assertThatThrownBy(() -> intake.getStatus(trackingIds.get(1))).hasMessage("Unknown tracking id");
+        for (String trackingId : trackingIds.subList(2, 5)) {
+            assertThat(intake.getStatus(trackingId).getState()).isEqualTo(State.ACCEPTED);
+        }
+    }
+
+    @Test
+    void expiredTicketsArePurged() throws InterruptedException {
+        String trackingId = submit(0).getTrackingId();
+        awaitAccepted(trackingId);
+
+        ReflectionTestUtils.setField(intake, "statusRetention", Duration.ZERO);
+        intake.purgeFinished();
+
+        assertThatThrownBy(() -> intake.getStatus(trackingId)).hasMessage("Unknown tracking id");
+    }
+
+    @Test
+    void stopDrainsTheQueueThenRejects() throws InterruptedException {
+        ReflectionTestUtils.setField(intake, "maxTracked", 100);
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            trackingIds.add(submit(i).getTrackingId());
+        }
+
+        intake.stop();
+
+        for (String trackingId : trackingIds) {
+            assertThat(intake.getStatus(trackingId).getState()).isEqualTo(State.ACCEPTED);
+        }
+        assertThatThrownBy(() -> submit(50))
+                .isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+                    assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(ex.getHeaders().getFirst("Retry-After")).isNotNull();
+                });
+    }
+
+    private IntakeStatus submit(int i) {
+        return intake.submit(JOB_ID, "Candidate " + i, "candidate" + i + "@mail.example", null);
+    }
+
+    private void awaitAccepted(String trackingId) throws InterruptedException {
+        for (int wait = 0; wait < 200 && intake.getStatus(trackingId).getState() == State.QUEUED; wait++) {
+            Thread.sleep(10);
+        }
+        assertThat(intake.getStatus(trackingId).getState()).isEqualTo(State.ACCEPTED);
+    }
+}
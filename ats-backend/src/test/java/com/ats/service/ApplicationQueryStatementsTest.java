@@ -0,0 +1,165 @@
+package com.ats.service;
+
+import com.ats.dto.ApplicationDto;
+import com.ats.dto.BulkStatusUpdateRequest;
+import com.ats.dto.CursorPage;
+import com.ats.dto.DashboardStats;
+import com.ats.dto.JobDto;
+import com.ats.model.Application.ApplicationStatus;
+import com.ats.model.User;
+import com.ats.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The hot read paths run one JDBC statement per call whatever the page
+ * holds: application listings and search select DTOs joined to the job
+ * title, the detail view is the same projection, and the dashboard is served
+ * from memory. A bulk status filter matching more than the cap is refused
+ * after reading one row past it. Counted with Hibernate statistics on an
+ * in-memory H2 database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // The migrations are PostgreSQL-specific; let Hibernate create the H2 schema
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "file.upload-dir=${java.io.tmpdir}/ats-test-uploads",
+        "logging.level.root=WARN"
+})
+class ApplicationQueryStatementsTest {
+
+    private static final int APPLICATIONS = 30;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private CandidateSearchIndex candidateSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (userRepository.count() > 0) {
+            return;
+        }
+        User recruiter = userRepository.save(User.builder()
+                .fullName("Test Recruiter")
+                .email("recruiter@statements.test")
+                .password("not-a-hash")
+                .build());
+        for (int j = 0; j < 3; j++) {
+            JobDto job = jobService.createJob(JobDto.builder()
+                    .title("Backend Engineer " + j)
+                    .description("Statement counting")
+                    .build(), recruiter);
+            for (int i = 0; i < APPLICATIONS / 3; i++) {
+                applicationService.submitApplication(job.getId(), "Candidate " + j + "-" + i,
+                        "candidate" + j + "-" + i + "@mail.example", null);
+            }
+        }
+        // The index fills on a background thread after startup
+        for (int wait = 0; wait < 100 && !candidateSearchIndex.canServe("candidate"); wait++) {
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    void listingPagesRunOneStatement() {
+        CursorPage<ApplicationDto> first = counted(1,
+                () -> applicationService.getApplicationsByFilters(null, null, null, PAGE_SIZE));
+        assertThat(first.getItems()).hasSize(PAGE_SIZE).allSatisfy(dto -> assertThat(dto.getJobTitle()).isNotNull());
+
+        CursorPage<ApplicationDto> second = counted(1,
+                () -> applicationService.getApplicationsByFilters(null, null, first.getNextCursor(), PAGE_SIZE));
+        assertThat(second.getItems()).hasSize(PAGE_SIZE).doesNotContainAnyElementsOf(first.getItems());
+    }
+
+    @Test
+    void searchRunsOneStatement() {
+        // Below a trigram, so answered by the database
+        CursorPage<ApplicationDto> scanned = counted(1,
+                () -> applicationService.searchApplications("2-", null, PAGE_SIZE));
+        assertThat(scanned.getItems()).isNotEmpty();
+
+        assertThat(candidateSearchIndex.canServe("candidate")).isTrue();
+        CursorPage<ApplicationDto> indexed = counted(1,
+                () -> applicationService.searchApplications("candidate", null, PAGE_SIZE));
+        assertThat(indexed.getItems()).hasSize(PAGE_SIZE);
+    }
+
+    @Test
+    void detailRunsOneStatement() {
+        ApplicationDto listed = applicationService.getApplicationsByFilters(null, null, null, 1).getItems().get(0);
+
+        ApplicationDto detail = counted(1, () -> applicationService.getApplicationById(listed.getId()));
+        assertThat(detail).isEqualTo(listed);
+    }
+
+    @Test
+    void dashboardIsServedFromMemory() {
+        applicationService.getDashboardStats();
+
+        DashboardStats stats = counted(0, applicationService::getDashboardStats);
+        assertThat(stats.getTotalApplications()).isEqualTo(APPLICATIONS);
+    }
+
+    @Test
+    void oversizedStatusFilterIsRefusedAfterOneRowPastTheCap() {
+        Long jobId = applicationService.getApplicationsByFilters(null, null, null, 1).getItems().get(0).getJobId();
+        ApplicationService target = AopTestUtils.getTargetObject(applicationService);
+        ReflectionTestUtils.setField(target, "maxBulkIds", 4);
+        try {
+            statistics.clear();
+            assertThatThrownBy(() -> applicationService.updateStatuses(new BulkStatusUpdateRequest(null, jobId,
+                    ApplicationStatus.NEW, ApplicationStatus.SHORTLISTED)))
+                    .hasMessage("At most 4 applications can be updated at once");
+
+            assertThat(statistics.getPrepareStatementCount()).as("JDBC statements").isEqualTo(1);
+            String lockQuery = Arrays.stream(statistics.getQueries())
+                    .filter(query -> query.contains("a.status = :status"))
+                    .findFirst().orElseThrow();
+            // Ten applications match; only five were read and locked
+            assertThat(statistics.getQueryStatistics(lockQuery).getExecutionRowCount()).isEqualTo(5);
+        } finally {
+            ReflectionTestUtils.setField(target, "maxBulkIds", 10000);
+        }
+    }
+
+    private <T> T counted(long expectedStatements, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        assertThat(statistics.getPrepareStatementCount()).as("JDBC statements").isEqualTo(expectedStatements);
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ats.service;
+
+import com.ats.dto.ApplicationDto;
+import com.ats.dto.CursorPage;
+import com.ats.repository.ApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * How candidate search picks between the in-memory index and the database,
+ * and how it keeps index pages full when applications have been deleted.
+ */
+class ApplicationSearchTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0);
+    private static final int PAGE_SIZE = 5;
+
+    private ApplicationRepository applicationRepository;
+    private CandidateSearchIndex candidateSearchIndex;
+    private ApplicationService applicationService;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository = mock(ApplicationRepository.class);
+        candidateSearchIndex = new CandidateSearchIndex(applicationRepository);
+        for (long id = 1; id <= 12; id++) {
+            candidateSearchIndex.add(id, 1L, "Candidate " + id, "candidate" + id + "@mail.example", NOW.plusMinutes(id));
+        }
+        ReflectionTestUtils.setField(candidateSearchIndex, "ready", true);
+        applicationService = new ApplicationService(applicationRepository, null, null, null, candidateSearchIndex,
+                null, null, null, null);
+        ReflectionTestUtils.setField(applicationService, "defaultPageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(applicationService, "maxPageSize", 200);
+    }
+
+    @Test
+    void indexPageIsToppedUpAfterDeletions() {
+        // The three newest are gone from the database but still in the index
+        Set<Long> deleted = Set.of(12L, 11L, 10L);
+        when(applicationRepository.findDtosByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> !deleted.contains(id)).map(ApplicationSearchTest::dto).toList();
+        });
+
+        CursorPage<ApplicationDto> first = applicationService.searchApplications("candidate", null, PAGE_SIZE);
+
+        assertThat(first.getItems()).extracting(ApplicationDto::getId).containsExactly(9L, 8L, 7L, 6L, 5L);
+        assertThat(CandidateSearchIndex.isIndexCursor(first.getNextCursor())).isTrue();
+        verify(applicationRepository, times(2)).findDtosByIds(anyCollection());
+
+        CursorPage<ApplicationDto> second = applicationService.searchApplications("candidate",
+                first.getNextCursor(), PAGE_SIZE);
+        assertThat(second.getItems()).extracting(ApplicationDto::getId).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void databaseCursorStaysOnTheDatabase() {
+        String databaseCursor = new PageCursor(NOW.plusMinutes(8), 8L).encode();
+        when(applicationRepository.searchPageByNameOrEmailAfter(eq("candidate"), eq(NOW.plusMinutes(8)), eq(8L),
+                any(Limit.class))).thenReturn(List.of(dto(7L), dto(6L)));
+
+        CursorPage<ApplicationDto> page = applicationService.searchApplications("candidate", databaseCursor,
+                PAGE_SIZE);
+
+        assertThat(page.getItems()).extracting(ApplicationDto::getId).containsExactly(7L, 6L);
+        verify(applicationRepository, never()).findDtosByIds(anyCollection());
+    }
+
+    @Test
+    void indexCursorRestartsOnTheDatabaseWhileTheIndexRebuilds() {
+        when(applicationRepository.findDtosByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(ApplicationSearchTest::dto).toList();
+        });
+        String indexCursor = applicationService.searchApplications("candidate", null, PAGE_SIZE).getNextCursor();
+        ReflectionTestUtils.setField(candidateSearchIndex, "ready", false);
+        when(applicationRepository.searchFirstPageByNameOrEmail(eq("candidate"), any(Limit.class)))
+                .thenReturn(List.of(dto(12L), dto(11L)));
+
+        CursorPage<ApplicationDto> page = applicationService.searchApplications("candidate", indexCursor, PAGE_SIZE);
+
+        assertThat(page.getItems()).extracting(ApplicationDto::getId).containsExactly(12L, 11L);
+    }
+
+    private static ApplicationDto dto(Long id) {
+        return ApplicationDto.builder()
+                .id(id)
+                .candidateName("Candidate " + id)
+                .candidateEmail("candidate" + id + "@mail.example")
+                .submittedAt(NOW.plusMinutes(id))
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ats.service;
+
+import com.ats.dto.LoginRequest;
+import com.ats.model.User;
+import com.ats.repository.UserRepository;
+import com.ats.security.JwtUtil;
+import com.ats.security.LoginThrottle;
+import com.ats.security.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private static final String EMAIL = "recruiter@mail.example";
+    private static final String PASSWORD = "correct horse";
+
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottle loginThrottle = new LoginThrottle(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loginThrottle, "enabled", true);
+        ReflectionTestUtils.setField(loginThrottle, "addressCapacity", 20);
+        ReflectionTestUtils.setField(loginThrottle, "addressRefill", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(loginThrottle, "accountCapacity", 5);
+        ReflectionTestUtils.setField(loginThrottle, "accountRefill", Duration.ofSeconds(12));
+        ReflectionTestUtils.setField(loginThrottle, "trustedAddressTtl", Duration.ofDays(7));
+        ReflectionTestUtils.setField(loginThrottle, "maxTracked", 100);
+        loginThrottle.init();
+
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            UsernamePasswordAuthenticationToken token = invocation.getArgument(0);
+            if (!PASSWORD.equals(token.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return token;
+        });
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(EMAIL))
+                .thenReturn(Optional.of(User.builder().id(1L).email(EMAIL).fullName("Recruiter").build()));
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.generateToken(any())).thenReturn("token");
+        authService = new AuthService(userRepository, mock(PasswordEncoder.class), jwtUtil, authenticationManager,
+                loginThrottle, new PrincipalCache());
+    }
+
+    @Test
+    void correctLoginSucceedsWhileAnAttackerDrainsTheAccount() {
+        assertThat(authService.login(new LoginRequest(EMAIL, PASSWORD), "10.0.0.1").getToken()).isEqualTo("token");
+
+        // Twice the account burst in guesses, each from a fresh address
+        int guesses = 0;
+        for (int i = 0; i < 10; i++) {
+            String attacker = "203.0.113." + i;
+            assertThatThrownBy(() -> authService.login(new LoginRequest(EMAIL, "guess"), attacker))
+                    .isInstanceOfAny(BadCredentialsException.class, ResponseStatusException.class);
+            guesses++;
+            assertThat(authService.login(new LoginRequest(EMAIL, PASSWORD), "10.0.0.1").getToken())
+                    .as("after %d guesses", guesses).isEqualTo("token");
+        }
+        // The guesses themselves were cut off at the account's burst
+        assertThatThrownBy(() -> authService.login(new LoginRequest(EMAIL, "guess"), "203.0.113.200"))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ats.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int ENTRIES = 100_000;
+
+    @Test
+    void falsePositiveRateStaysNearTheTarget() {
+        BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.add(key(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = ENTRIES; i < 2 * ENTRIES; i++) {
+            if (filter.mightContain(key(i))) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / ENTRIES).isLessThan(0.015);
+    }
+
+    @Test
+    void neverMissesAnAddedKeyWhenAddedConcurrently() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            // Interleaved keys, so threads race on the same words
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = offset; i < ENTRIES; i += 4) {
+                    filter.add(key(i));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < ENTRIES; i++) {
+            assertThat(filter.mightContain(key(i))).as(key(i)).isTrue();
+        }
+    }
+
+    @Test
+    void isSizedForTheRate() {
+        // About 9.6 bits per entry at 1%
+        assertThat(new BloomFilter(ENTRIES, 0.01).sizeInBytes()).isBetween(115_000L, 125_000L);
+    }
+
+    private static String key(int i) {
+        return (i % 500) + ":candidate" + i + "@mail.example";
+    }
+}
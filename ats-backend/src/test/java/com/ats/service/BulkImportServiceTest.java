@@ -0,0 +1,191 @@
+package com.ats.service;
+
+import com.ats.dto.ImportResult;
+import com.ats.dto.ImportResult.RowError;
+import com.ats.model.User;
+import com.ats.repository.JobRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rows that fail are reported with fixed messages: driver and parser text
+ * (SQL, schema and class names) stays in the server log. Repeats within a
+ * file never reach the database, and a bad row costs a few retries, not one
+ * per row of its chunk.
+ */
+class BulkImportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JobRepository jobRepository;
+    private BulkImportService bulkImportService;
+    private final User user = User.builder().id(1L).build();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        jobRepository = mock(JobRepository.class);
+        bulkImportService = new BulkImportService(jdbcTemplate, jobRepository,
+                mock(DuplicateApplicationGuard.class), mock(PlatformTransactionManager.class),
+                mock(ApplicationEventPublisher.class), Validation.buildDefaultValidatorFactory().getValidator(),
+                JsonMapper.builder().build());
+        ReflectionTestUtils.setField(bulkImportService, "chunkSize", 100);
+        ReflectionTestUtils.setField(bulkImportService, "maxReportedErrors", 100);
+        ReflectionTestUtils.setField(bulkImportService, "maxMappedJobIds", 100);
+        bulkImportService.init();
+    }
+
+    @Test
+    void databaseFailureIsReportedWithoutDriverText() throws IOException {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenThrow(new DataIntegrityViolationException(
+                "PreparedStatementCallback; SQL [INSERT INTO jobs ...]",
+                new SQLException("ERROR: value too long for type character varying(255)", "22001")));
+
+        ImportResult result = importJobs(DataFormat.NDJSON, "{\"title\":\"Backend Engineer\"}\n");
+
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(RowError::getMessage).containsExactly("A value is too long");
+    }
+
+    @Test
+    void unknownDatabaseFailureGetsTheGenericMessage() throws IOException {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenThrow(new IllegalStateException("connection pool at jdbc:postgresql://db"));
+
+        ImportResult result = importJobs(DataFormat.NDJSON, "{\"title\":\"Backend Engineer\"}\n");
+
+        assertThat(result.getErrors()).extracting(RowError::getMessage).containsExactly("Row could not be stored");
+    }
+
+    @Test
+    void malformedRowsNameOnlyTheProperty() throws IOException {
+        ImportResult ndjson = importJobs(DataFormat.NDJSON, "{not json\n{\"title\":\"x\",\"createdAt\":\"yesterday\"}\n");
+        ImportResult csv = importJobs(DataFormat.CSV, "title,createdAt\nBackend Engineer,yesterday\n");
+
+        assertThat(ndjson.getErrors()).extracting(RowError::getLine, RowError::getMessage).containsExactly(
+                tuple(1L, "Malformed row: not valid JSON"),
+                tuple(2L, "Malformed row: invalid value for createdAt"));
+        assertThat(csv.getErrors()).extracting(RowError::getMessage)
+                .containsExactly("Malformed row: invalid value for createdAt");
+    }
+
+    @Test
+    void repeatsWithinTheFileAreRejectedBeforeTheInsert() throws IOException {
+        when(jobRepository.existsById(any())).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT nextval('applications_seq')", Long.class)).thenReturn(50L);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(1).size());
+            return new int[0];
+        });
+
+        ImportResult result = bulkImportService.importApplications(new ByteArrayInputStream("""
+                {"jobId":1,"candidateName":"Anna","candidateEmail":"anna@mail.example"}
+                {"jobId":2,"candidateName":"Anna","candidateEmail":"anna@mail.example"}
+                {"jobId":1,"candidateName":"Anna","candidateEmail":"Anna@Mail.example"}
+                {"jobId":1,"candidateName":"Ben","candidateEmail":"ben@mail.example"}
+                """.getBytes(StandardCharsets.UTF_8)), DataFormat.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(RowError::getLine, RowError::getMessage)
+                .containsExactly(tuple(3L, "Candidate appears earlier in this file for job 1"));
+        // One batch, never retried
+        assertThat(batchSizes).containsExactly(3);
+    }
+
+    @Test
+    void failingChunkIsSplitUntilTheBadRowIsFound() throws IOException {
+        ReflectionTestUtils.setField(bulkImportService, "chunkSize", 64);
+        AtomicLong nextId = new AtomicLong();
+        List<Integer> attempts = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    attempts.add(setter.getBatchSize());
+                    List<String> titles = new ArrayList<>();
+                    PreparedStatement ps = mock(PreparedStatement.class);
+                    doAnswer(call -> titles.add(call.getArgument(1))).when(ps).setString(eq(1), any());
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        setter.setValues(ps, i);
+                    }
+                    if (titles.contains("Bad job")) {
+                        throw new DataIntegrityViolationException("too long",
+                                new SQLException("value too long", "22001"));
+                    }
+                    KeyHolder keys = invocation.getArgument(2);
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keys.getKeyList().add(Map.of("id", nextId.incrementAndGet()));
+                    }
+                    return new int[0];
+                });
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 64; i++) {
+            body.append("{\"id\":").append(i).append(",\"title\":\"").append(i == 40 ? "Bad job" : "Job " + i)
+                    .append("\"}\n");
+        }
+
+        ImportResult result = importJobs(DataFormat.NDJSON, body.toString());
+
+        assertThat(result.getImported()).isEqualTo(63);
+        assertThat(result.getErrors()).extracting(RowError::getLine, RowError::getMessage)
+                .containsExactly(tuple(40L, "A value is too long"));
+        // The whole chunk, then both halves at each level down to the bad row: 13 batches instead of 65
+        assertThat(attempts).hasSize(13);
+        assertThat(result.getJobIdsBySourceId()).hasSize(63).doesNotContainKey(40L);
+    }
+
+    @Test
+    void jobIdMappingIsCapped() throws IOException {
+        ReflectionTestUtils.setField(bulkImportService, "maxMappedJobIds", 2);
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keys = invocation.getArgument(2);
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keys.getKeyList().add(Map.of("id", 100L + i));
+                    }
+                    return new int[0];
+                });
+
+        ImportResult result = importJobs(DataFormat.CSV, "id,title\n7,A\n8,B\n9,C\n");
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getJobIdsBySourceId()).containsExactly(Map.entry(7L, 100L), Map.entry(8L, 101L));
+        assertThat(result.isJobIdsTruncated()).isTrue();
+    }
+
+    private ImportResult importJobs(DataFormat format, String body) throws IOException {
+        return bulkImportService.importJobs(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                format, user);
+    }
+}
@@ -0,0 +1,175 @@
+package com.ats.service;
+
+import com.ats.event.JobDeletedEvent;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.ApplicationRepository.SearchRow;
+import com.ats.service.CandidateSearchIndex.SearchPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CandidateSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private CandidateSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CandidateSearchIndex(null);
+    }
+
+    @Test
+    void ranksExactThenPrefixThenContainsThenNewest() {
+        index.add(1L, 1L, "Anna Smithson", "anna@mail.example", NOW.minusDays(3));
+        index.add(2L, 1L, "Smith", "x@mail.example", NOW.minusDays(5));
+        index.add(3L, 1L, "John Smith", "john@mail.example", NOW.minusDays(1));
+        index.add(4L, 1L, "Goldsmith", "gold@mail.example", NOW);
+        index.add(5L, 1L, "Unrelated", "nobody@mail.example", NOW);
+        index.add(6L, 1L, "Kate Smith", "kate@mail.example", NOW.minusDays(2));
+
+        SearchPage page = index.search("SMITH ", null, 10);
+
+        // Exact name, then word prefixes newest first, then a plain substring
+        assertThat(page.ids()).containsExactly(2L, 3L, 6L, 1L, 4L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void cursorWalksEveryHitOnce() {
+        for (long id = 1; id <= 25; id++) {
+            // Same timestamp for some rows, so ties are broken on id
+            index.add(id, 1L, "Candidate " + id, "candidate" + id + "@mail.example", NOW.minusHours(id / 2));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            SearchPage page = index.search("candidate", cursor, 10);
+            seen.addAll(page.ids());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(25).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void removedApplicationsAreSkipped() {
+        index.add(1L, 1L, "Maria Lopez", "maria@mail.example", NOW);
+        index.add(2L, 1L, "Mario Lopez", "mario@mail.example", NOW.minusDays(1));
+
+        index.remove(List.of(1L));
+
+        assertThat(index.search("lopez", null, 10).ids()).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void cursorsAreTaggedWithTheirSource() {
+        for (long id = 1; id <= 3; id++) {
+            index.add(id, 1L, "Candidate " + id, "c" + id + "@mail.example", NOW.minusDays(id));
+        }
+        String indexCursor = index.search("candidate", null, 1).nextCursor();
+        String databaseCursor = new PageCursor(NOW, 7L).encode();
+
+        assertThat(CandidateSearchIndex.isIndexCursor(indexCursor)).isTrue();
+        assertThat(CandidateSearchIndex.isIndexCursor(databaseCursor)).isFalse();
+        assertThat(CandidateSearchIndex.isIndexCursor("not base64!")).isFalse();
+        assertThatThrownBy(() -> index.search("candidate", databaseCursor, 1))
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> PageCursor.decode(indexCursor))
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void catchUpIndexesRowsCommittedElsewhereWithinTheWindow() {
+        NavigableMap<Long, SearchRow> table = new TreeMap<>();
+        table.put(1L, row(1L, 1L, "Anna Smith"));
+        table.put(60L, row(60L, 1L, "Ben Smith"));
+        CandidateSearchIndex index = indexOver(table);
+
+        // Another node's id block sits below the highest id here; a bulk import lands above it
+        table.put(30L, row(30L, 2L, "Cleo Smith"));
+        table.put(100L, row(100L, 2L, "Dan Smith"));
+        index.catchUp();
+
+        assertThat(index.search("smith", null, 10).ids()).containsExactlyInAnyOrder(1L, 30L, 60L, 100L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void sweepAddsRowsBelowTheWindowAndDropsDeletedOnes() {
+        NavigableMap<Long, SearchRow> table = new TreeMap<>();
+        table.put(1L, row(1L, 1L, "Anna Smith"));
+        table.put(2L, row(2L, 1L, "Ben Smith"));
+        table.put(500L, row(500L, 1L, "Cleo Smith"));
+        CandidateSearchIndex index = indexOver(table);
+        ReflectionTestUtils.setField(index, "catchUpWindow", 10L);
+
+        table.put(3L, row(3L, 2L, "Dan Smith"));
+        table.remove(2L);
+        index.catchUp();
+        assertThat(index.search("smith", null, 10).ids()).containsExactlyInAnyOrder(1L, 2L, 500L);
+
+        index.sweep();
+
+        assertThat(index.search("smith", null, 10).ids()).containsExactlyInAnyOrder(1L, 3L, 500L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void deletingAJobPurgesItsApplications() {
+        index.add(1L, 1L, "Maria Lopez", "maria@mail.example", NOW);
+        index.add(2L, 2L, "Mario Lopez", "mario@mail.example", NOW.minusDays(1));
+        index.add(3L, 1L, "Marta Lopez", "marta@mail.example", NOW.minusDays(2));
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        index.onJobDeleted(new JobDeletedEvent(1L, Map.of(), List.of()));
+
+        // A full page, not one thinned out by rows of the deleted job
+        assertThat(index.search("lopez", null, 1).ids()).containsExactly(2L);
+        assertThat(index.search("maria", null, 10).ids()).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private static CandidateSearchIndex indexOver(NavigableMap<Long, SearchRow> table) {
+        ApplicationRepository repository = mock(ApplicationRepository.class);
+        when(repository.findSearchRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return table.tailMap(afterId, false).values().stream().limit(limit.max()).toList();
+        });
+        CandidateSearchIndex index = new CandidateSearchIndex(repository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "buildBatchSize", 2);
+        ReflectionTestUtils.setField(index, "catchUpWindow", 5000L);
+        index.rebuild();
+        return index;
+    }
+
+    private static SearchRow row(long id, long jobId, String name) {
+        return new Row(id, jobId, name, name.toLowerCase().replace(' ', '.') + "@mail.example", NOW.minusMinutes(id));
+    }
+
+    private record Row(Long getId, Long getJobId, String getCandidateName, String getCandidateEmail,
+            LocalDateTime getSubmittedAt) implements SearchRow {
+    }
+}
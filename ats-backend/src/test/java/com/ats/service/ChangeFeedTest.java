@@ -0,0 +1,269 @@
+package com.ats.service;
+
+import com.ats.controller.EventController;
+import com.ats.event.JobSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * A client that falls behind loses its backlog and is told to reload once;
+ * the stream then carries on from the next change. The dispatcher and the
+ * senders run only when the test says so, which stands in for a client that
+ * is not reading.
+ */
+class ChangeFeedTest {
+
+    private static final int BUFFER_SIZE = 4;
+    private static final int MAX_SUBSCRIBERS = 10;
+    private static final int DISPATCH_QUEUE_CAPACITY = 20;
+
+    private final ManualExecutor dispatcher = new ManualExecutor(DISPATCH_QUEUE_CAPACITY);
+    private final ManualExecutor senders = new ManualExecutor(Integer.MAX_VALUE);
+    private SimpleMeterRegistry meterRegistry;
+    private ChangeFeed changeFeed;
+    private MockMvc mockMvc;
+    private long jobIds;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        changeFeed = new ChangeFeed(JsonMapper.builder().build(), mock(DashboardStatsEngine.class), meterRegistry);
+        ReflectionTestUtils.setField(changeFeed, "bufferSize", BUFFER_SIZE);
+        ReflectionTestUtils.setField(changeFeed, "maxSubscribers", MAX_SUBSCRIBERS);
+        ReflectionTestUtils.setField(changeFeed, "dispatchQueueCapacity", DISPATCH_QUEUE_CAPACITY);
+        ReflectionTestUtils.setField(changeFeed, "streamTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(changeFeed, "senders", senders);
+        changeFeed.init();
+        ((ExecutorService) ReflectionTestUtils.getField(changeFeed, "dispatcher")).shutdownNow();
+        ReflectionTestUtils.setField(changeFeed, "dispatcher", dispatcher);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventController(changeFeed)).build();
+    }
+
+    @Test
+    void overflowTurnsTheBacklogIntoOneResync() throws Exception {
+        MockHttpServletResponse stream = subscribe(null);
+
+        // "ready" plus three changes fill the buffer; the fourth overflows it
+        for (int i = 0; i < BUFFER_SIZE + 2; i++) {
+            saveJob();
+        }
+        deliver();
+
+        // The unsent "ready" went with the backlog; the resync carries the id to reload up to
+        assertThat(events(stream)).containsExactly("resync:6");
+        assertThat(meterRegistry.counter("ats.events.resyncs").count()).isEqualTo(1);
+
+        saveJob();
+        deliver();
+
+        assertThat(events(stream)).containsExactly("resync:6", "job-created:7");
+    }
+
+    @Test
+    void clientKeepingUpGetsEveryChange() throws Exception {
+        MockHttpServletResponse stream = subscribe(null);
+
+        for (int i = 0; i < 10; i++) {
+            saveJob();
+            deliver();
+        }
+
+        assertThat(events(stream)).hasSize(11).noneMatch(event -> event.startsWith("resync"));
+        assertThat(meterRegistry.counter("ats.events.resyncs").count()).isZero();
+    }
+
+    @Test
+    void reconnectAfterMissedChangesResyncs() throws Exception {
+        saveJob();
+        saveJob();
+        deliver();
+
+        MockHttpServletResponse stale = subscribe(1L);
+        MockHttpServletResponse current = subscribe(2L);
+        deliver();
+
+        assertThat(events(stale)).containsExactly("resync:2");
+        assertThat(events(current)).containsExactly("ready:2");
+    }
+
+    @Test
+    void dispatcherFallingBehindResyncsEveryClient() throws Exception {
+        MockHttpServletResponse stream = subscribe(null);
+        deliver();
+
+        // One change more than the dispatch queue holds is dropped
+        for (int i = 0; i < DISPATCH_QUEUE_CAPACITY + 1; i++) {
+            saveJob();
+        }
+        deliver();
+
+        // The dropped change still takes an id, so the resync covers it
+        assertThat(events(stream)).containsExactly("ready:0", "resync:" + (DISPATCH_QUEUE_CAPACITY + 1));
+        assertThat(meterRegistry.counter("ats.events.resyncs").count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentSubscribersNeverExceedTheLimit() throws Exception {
+        int attempts = 4 * MAX_SUBSCRIBERS;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> subscriptions = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                subscriptions.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        changeFeed.subscribe(null);
+                    } catch (ResponseStatusException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> subscription : subscriptions) {
+                subscription.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(rejected).hasValue(attempts - MAX_SUBSCRIBERS);
+        assertThat(meterRegistry.get("ats.events.subscribers").gauge().value()).isEqualTo(MAX_SUBSCRIBERS);
+    }
+
+    @Test
+    void failedSendFreesTheSlot() {
+        List<SseEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < MAX_SUBSCRIBERS; i++) {
+            emitters.add(changeFeed.subscribe(null));
+        }
+        assertThatThrownBy(() -> changeFeed.subscribe(null)).isInstanceOf(ResponseStatusException.class);
+
+        // Completed without the container noticing, so only the failing send can clean up
+        emitters.getFirst().complete();
+        deliver();
+
+        assertThat(meterRegistry.get("ats.events.subscribers").gauge().value()).isEqualTo(MAX_SUBSCRIBERS - 1);
+        assertThatCode(() -> changeFeed.subscribe(null)).doesNotThrowAnyException();
+    }
+
+    private void deliver() {
+        dispatcher.runAll();
+        senders.runAll();
+    }
+
+    private MockHttpServletResponse subscribe(Long lastEventId) throws Exception {
+        var request = get("/api/events");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    private void saveJob() {
+        long id = ++jobIds;
+        changeFeed.onJobSaved(new JobSavedEvent(id, "Job " + id, true, LocalDateTime.now(), true));
+    }
+
+    // "name:id" per event sent so far
+    private static List<String> events(MockHttpServletResponse stream) throws Exception {
+        List<String> events = new ArrayList<>();
+        for (String block : stream.getContentAsString().split("\n\n")) {
+            String id = null;
+            String name = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                }
+            }
+            if (name != null) {
+                events.add(name + ":" + id);
+            }
+        }
+        return events;
+    }
+
+    private static final class ManualExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+        private final int capacity;
+
+        ManualExecutor(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = next()) != null) {
+                task.run();
+            }
+        }
+
+        private synchronized Runnable next() {
+            return tasks.isEmpty() ? null : tasks.removeFirst();
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            if (tasks.size() >= capacity) {
+                throw new RejectedExecutionException("Queue full");
+            }
+            tasks.add(task);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ats.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsKeepDelimitersQuotesAndLineBreaks() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(
+                "name,note\r\n\"Smith, Anna\",\"said \"\"hi\"\"\"\r\n\"multi\nline\",\"\"\r\nplain,last\n"));
+
+        assertThat(csv.next()).containsExactly("name", "note");
+        assertThat(csv.next()).containsExactly("Smith, Anna", "said \"hi\"");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("multi\nline", "");
+        assertThat(csv.getRecordLine()).isEqualTo(3);
+        assertThat(csv.next()).containsExactly("plain", "last");
+        // The quoted line break counts: this record starts on line 5
+        assertThat(csv.getRecordLine()).isEqualTo(5);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void emptyFieldsAndMissingTrailingNewline() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(",,\n\na,\"b\",c"));
+
+        assertThat(csv.next()).containsExactly("", "", "");
+        // Blank lines between records are skipped
+        assertThat(csv.next()).containsExactly("a", "b", "c");
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsLiteral() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("5\" screen,x\n"));
+
+        assertThat(csv.next()).containsExactly("5\" screen", "x");
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        CsvReader csv = new CsvReader(new StringReader("a,\"never closed\nb,c\n"));
+
+        assertThatThrownBy(csv::next).isInstanceOf(IOException.class)
+                .hasMessage("Unterminated quoted field starting on line 1");
+    }
+}
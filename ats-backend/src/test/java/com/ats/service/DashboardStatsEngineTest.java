@@ -0,0 +1,136 @@
+package com.ats.service;
+
+import com.ats.dto.DashboardStats;
+import com.ats.event.ApplicationSubmittedEvent;
+import com.ats.model.Application.ApplicationStatus;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Applications committed while the engine loads from the database: their
+ * events must be neither lost nor counted twice.
+ */
+class DashboardStatsEngineTest {
+
+    private static final long JOB_ID = 1L;
+
+    private ApplicationRepository applicationRepository;
+    private JobRepository jobRepository;
+    private DashboardStatsEngine engine;
+
+    // The "database": applications of the one job, all NEW
+    private long applications = 10;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository = mock(ApplicationRepository.class);
+        jobRepository = mock(JobRepository.class);
+        when(jobRepository.findAllSummaries())
+                .thenReturn(List.of(new JobRow(JOB_ID, "Backend Engineer", true, LocalDateTime.of(2026, 1, 1, 9, 0))));
+        when(applicationRepository.countGroupedByJob()).thenAnswer(invocation -> List.of(new JobTotal(JOB_ID, applications)));
+        when(applicationRepository.countGroupedByStatus())
+                .thenAnswer(invocation -> List.of(new StatusTotal(ApplicationStatus.NEW, applications)));
+        engine = new DashboardStatsEngine(applicationRepository, jobRepository, mock(PlatformTransactionManager.class));
+        engine.init();
+    }
+
+    @Test
+    void submissionDuringFirstLoadIsNotHalfCounted() {
+        // Commits between the per-job and the per-status query, so one load sees it in only one of them
+        AtomicInteger loads = new AtomicInteger();
+        when(applicationRepository.countGroupedByJob()).thenAnswer(invocation -> {
+            List<JobTotal> rows = List.of(new JobTotal(JOB_ID, applications));
+            if (loads.getAndIncrement() == 0) {
+                submit();
+            }
+            return rows;
+        });
+
+        engine.rebuild();
+
+        assertCounts(11);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void submissionDuringRebuildIsNotLost() {
+        engine.rebuild();
+        // Commits after the snapshot was read: the load misses it, and its event lands on the state being replaced
+        AtomicInteger loads = new AtomicInteger();
+        when(applicationRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            List<StatusTotal> rows = List.of(new StatusTotal(ApplicationStatus.NEW, applications));
+            if (loads.getAndIncrement() == 0) {
+                submit();
+            }
+            return rows;
+        });
+
+        engine.rebuild();
+
+        assertCounts(11);
+    }
+
+    @Test
+    void consistencyCheckDuringSubmissionKeepsTheLiveCount() {
+        engine.rebuild();
+        AtomicInteger loads = new AtomicInteger();
+        when(applicationRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            List<StatusTotal> rows = List.of(new StatusTotal(ApplicationStatus.NEW, applications));
+            if (loads.getAndIncrement() == 0) {
+                submit();
+            }
+            return rows;
+        });
+
+        engine.checkConsistency();
+
+        assertCounts(11);
+    }
+
+    @Test
+    void rebuildUnderConstantWritesStillInstallsAState() {
+        when(applicationRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            List<StatusTotal> rows = List.of(new StatusTotal(ApplicationStatus.NEW, applications));
+            submit();
+            return rows;
+        });
+
+        engine.rebuild();
+
+        assertThat(engine.snapshot().getTotalApplications()).isPositive();
+    }
+
+    private void submit() {
+        applications++;
+        engine.onApplicationSubmitted(new ApplicationSubmittedEvent(100 + applications, JOB_ID, "Candidate",
+                "candidate@mail.example", ApplicationStatus.NEW, LocalDateTime.now()));
+    }
+
+    private void assertCounts(long expected) {
+        DashboardStats stats = engine.snapshot();
+        assertThat(stats.getTotalApplications()).isEqualTo(expected);
+        assertThat(stats.getApplicationsByStatus()).containsEntry("NEW", expected);
+        assertThat(stats.getRecentApplicationsByJob()).containsEntry("Backend Engineer", expected);
+    }
+
+    private record JobRow(Long getId, String getTitle, Boolean getActive, LocalDateTime getCreatedAt)
+            implements JobRepository.JobSummary {
+    }
+
+    private record JobTotal(Long getJobId, long getTotal) implements ApplicationRepository.JobCount {
+    }
+
+    private record StatusTotal(ApplicationStatus getStatus, long getTotal) implements ApplicationRepository.StatusCount {
+    }
+}
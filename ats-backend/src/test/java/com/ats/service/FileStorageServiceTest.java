@@ -0,0 +1,122 @@
+package com.ats.service;
+
+import com.ats.repository.ApplicationRepository;
+import com.ats.storage.LocalResumeStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FileStorageServiceTest {
+
+    private static final byte[] RESUME = "%PDF-1.4 the same resume every time".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        LocalResumeStore resumeStore = new LocalResumeStore();
+        ReflectionTestUtils.setField(resumeStore, "uploadDir", uploadDir.toString());
+        resumeStore.init();
+        // No committed application refers to anything: only pending uploads keep files alive
+        ApplicationRepository applicationRepository = mock(ApplicationRepository.class);
+        when(applicationRepository.countByResumePath(anyString())).thenReturn(0L);
+        fileStorageService = new FileStorageService(applicationRepository, resumeStore);
+        fileStorageService.init();
+    }
+
+    @Test
+    void releaseKeepsFileWhileUploadIsPending() throws IOException {
+        String name = store();
+
+        fileStorageService.release(name);
+        assertThat(fileStorageService.find(name)).isNotNull();
+
+        fileStorageService.discard(name);
+        assertThat(fileStorageService.find(name)).isNull();
+    }
+
+    @Test
+    void confirmedUploadIsLeftToItsRow() throws IOException {
+        String name = store();
+        fileStorageService.confirm(name);
+
+        fileStorageService.release(name);
+        assertThat(fileStorageService.find(name)).isNull();
+    }
+
+    @Test
+    void deduplicatedStoreSurvivesConcurrentRelease() throws Exception {
+        int uploaders = 4;
+        int releasers = 2;
+        ExecutorService executor = Executors.newFixedThreadPool(uploaders + releasers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean uploading = new AtomicBoolean(true);
+        String name = store();
+        fileStorageService.discard(name);
+        try {
+            List<Future<?>> uploads = new ArrayList<>();
+            for (int i = 0; i < uploaders; i++) {
+                uploads.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 200; round++) {
+                        String stored = store();
+                        assertThat(fileStorageService.find(stored)).as("pending upload in round %d", round).isNotNull();
+                        fileStorageService.discard(stored);
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> releases = new ArrayList<>();
+            for (int i = 0; i < releasers; i++) {
+                releases.add(executor.submit(() -> {
+                    start.await();
+                    while (uploading.get()) {
+                        fileStorageService.release(name);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            try {
+                for (Future<?> upload : uploads) {
+                    upload.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                uploading.set(false);
+            }
+            for (Future<?> release : releases) {
+                release.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(fileStorageService.find(name)).isNull();
+    }
+
+    private String store() {
+        return fileStorageService.storeFile(new ByteArrayInputStream(RESUME), "resume.pdf");
+    }
+}
@@ -0,0 +1,54 @@
+package com.ats.service;
+
+import com.ats.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobCounterReconcilerTest {
+
+    private JobRepository jobRepository;
+    private JobCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        reconciler = new JobCounterReconciler(jobRepository, mock(PlatformTransactionManager.class));
+        reconciler.init();
+    }
+
+    @Test
+    void locksEachDriftedJobBeforeRecounting() {
+        when(jobRepository.findIdsWithDriftedApplicationCount()).thenReturn(List.of(1L, 2L));
+        when(jobRepository.lockById(1L)).thenReturn(Optional.of(1L));
+        when(jobRepository.lockById(2L)).thenReturn(Optional.of(2L));
+
+        reconciler.reconcile();
+
+        InOrder order = inOrder(jobRepository);
+        order.verify(jobRepository).lockById(1L);
+        order.verify(jobRepository).reconcileApplicationCount(1L);
+        order.verify(jobRepository).lockById(2L);
+        order.verify(jobRepository).reconcileApplicationCount(2L);
+    }
+
+    @Test
+    void skipsJobsDeletedSinceTheScan() {
+        when(jobRepository.findIdsWithDriftedApplicationCount()).thenReturn(List.of(3L));
+        when(jobRepository.lockById(3L)).thenReturn(Optional.empty());
+
+        reconciler.reconcile();
+
+        verify(jobRepository, never()).reconcileApplicationCount(3L);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ats.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void roundTrips() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2026, 10, 1, 12, 30, 15, 123_456_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(PageCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsWholeSeconds() {
+        // LocalDateTime prints no seconds at all when they are zero
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2026, 1, 1, 0, 0), Long.MAX_VALUE);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "not base64!", "2026-01-01T00:00|1", "MjAyNi0wMS0wMVQwMDowMA" })
+    void rejectsGarbage(String cursor) {
+        assertThatThrownBy(() -> PageCursor.decode(cursor)).hasMessage("Invalid cursor");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "2026-01-01T00:00|abc", "yesterday|1", "2026-01-01T00:00|", "|1" })
+    void rejectsWellEncodedBadFields(String raw) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PageCursor.decode(cursor)).hasMessage("Invalid cursor");
+    }
+}
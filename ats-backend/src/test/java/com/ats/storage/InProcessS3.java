@@ -0,0 +1,315 @@
+package com.ats.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Just enough of the S3 API, in memory, for {@code file.store=s3} to run
+ * without a real bucket: path-style PUT, server-side copy, HEAD, ranged GET,
+ * DELETE and multipart uploads. Signatures are not checked and every bucket
+ * name is accepted. Used by {@link S3ResumeStoreTest} and the load test.
+ */
+public final class InProcessS3 implements AutoCloseable {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+    private static final Pattern PART_NUMBER = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private volatile int failingPart;
+
+    private InProcessS3(HttpServer server) {
+        this.server = server;
+    }
+
+    public static InProcessS3 start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        InProcessS3 s3 = new InProcessS3(server);
+        server.createContext("/", s3::handle);
+        // Platform threads: the JDK server writes under a monitor, which would pin the harness's virtual-thread carriers
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return s3;
+    }
+
+    public URI endpoint() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    public int objectCount() {
+        return objects.size();
+    }
+
+    public Set<String> keys() {
+        return Set.copyOf(objects.keySet());
+    }
+
+    public byte[] content(String key) {
+        StoredObject object = objects.get(key);
+        return object == null ? null : object.data();
+    }
+
+    // Multipart uploads started and neither completed nor aborted
+    public int openUploads() {
+        return uploads.size();
+    }
+
+    /**
+     * Rejects every upload of the given part number from now on; 0 accepts
+     * all parts again.
+     */
+    public void failPart(int partNumber) {
+        failingPart = partNumber;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            int slash = path.indexOf('/', 1);
+            String key = slash < 0 ? "" : path.substring(slash + 1);
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> put(exchange, key, query);
+                case "POST" -> post(exchange, key, query);
+                case "HEAD" -> head(exchange, key);
+                case "GET" -> get(exchange, key);
+                case "DELETE" -> delete(exchange, key, query);
+                default -> error(exchange, 405, "MethodNotAllowed");
+            }
+        }
+    }
+
+    private void put(HttpExchange exchange, String key, Map<String, String> query) throws IOException {
+        byte[] body = readBody(exchange);
+        String uploadId = query.get("uploadId");
+        if (uploadId != null) {
+            NavigableMap<Integer, byte[]> parts = uploads.get(uploadId);
+            if (parts == null) {
+                error(exchange, 404, "NoSuchUpload");
+                return;
+            }
+            if (Integer.parseInt(query.get("partNumber")) == failingPart) {
+                error(exchange, 403, "AccessDenied");
+                return;
+            }
+            parts.put(Integer.parseInt(query.get("partNumber")), body);
+            exchange.getResponseHeaders().set("ETag", etag(body));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+        if (copySource != null) {
+            String source = URLDecoder.decode(copySource, StandardCharsets.UTF_8).replaceFirst("^/?[^/]+/", "");
+            StoredObject original = objects.get(source);
+            if (original == null) {
+                error(exchange, 404, "NoSuchKey");
+                return;
+            }
+            StoredObject copy = new StoredObject(original.data(), Instant.now());
+            objects.put(key, copy);
+            xml(exchange, "<CopyObjectResult><ETag>" + etag(copy.data()) + "</ETag><LastModified>"
+                    + copy.lastModified() + "</LastModified></CopyObjectResult>");
+            return;
+        }
+        objects.put(key, new StoredObject(body, Instant.now()));
+        exchange.getResponseHeaders().set("ETag", etag(body));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void post(HttpExchange exchange, String key, Map<String, String> query) throws IOException {
+        byte[] body = readBody(exchange);
+        if (query.containsKey("uploads")) {
+            String uploadId = UUID.randomUUID().toString();
+            uploads.put(uploadId, new ConcurrentSkipListMap<>());
+            xml(exchange, "<InitiateMultipartUploadResult><Key>" + key + "</Key><UploadId>" + uploadId
+                    + "</UploadId></InitiateMultipartUploadResult>");
+            return;
+        }
+        String uploadId = query.get("uploadId");
+        NavigableMap<Integer, byte[]> parts = uploadId == null ? null : uploads.remove(uploadId);
+        if (parts == null) {
+            error(exchange, 404, "NoSuchUpload");
+            return;
+        }
+        // Only the listed parts, in the listed order, make up the object
+        Matcher listed = PART_NUMBER.matcher(new String(body, StandardCharsets.UTF_8));
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        while (listed.find()) {
+            byte[] part = parts.get(Integer.parseInt(listed.group(1)));
+            if (part == null) {
+                error(exchange, 400, "InvalidPart");
+                return;
+            }
+            content.writeBytes(part);
+        }
+        byte[] data = content.toByteArray();
+        objects.put(key, new StoredObject(data, Instant.now()));
+        xml(exchange, "<CompleteMultipartUploadResult><Key>" + key + "</Key><ETag>" + etag(data)
+                + "</ETag></CompleteMultipartUploadResult>");
+    }
+
+    private void head(HttpExchange exchange, String key) throws IOException {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        describe(exchange, object);
+        exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.data().length));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void get(HttpExchange exchange, String key) throws IOException {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            error(exchange, 404, "NoSuchKey");
+            return;
+        }
+        byte[] data = object.data();
+        int start = 0;
+        int end = data.length - 1;
+        int status = 200;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        Matcher matcher = range == null ? null : RANGE.matcher(range);
+        if (matcher != null && matcher.matches()) {
+            start = Integer.parseInt(matcher.group(1));
+            if (!matcher.group(2).isEmpty()) {
+                end = Math.min(end, Integer.parseInt(matcher.group(2)));
+            }
+            if (start > end) {
+                error(exchange, 416, "InvalidRange");
+                return;
+            }
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + data.length);
+        }
+        describe(exchange, object);
+        int length = end - start + 1;
+        exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(data, start, length);
+        }
+    }
+
+    private void delete(HttpExchange exchange, String key, Map<String, String> query) throws IOException {
+        String uploadId = query.get("uploadId");
+        if (uploadId != null) {
+            uploads.remove(uploadId);
+        } else {
+            objects.remove(key);
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private static void describe(HttpExchange exchange, StoredObject object) {
+        exchange.getResponseHeaders().set("ETag", etag(object.data()));
+        exchange.getResponseHeaders().set("Last-Modified", HTTP_DATE.format(object.lastModified()));
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+    }
+
+    private static void error(HttpExchange exchange, int status, String code) throws IOException {
+        byte[] body = ("<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static void xml(HttpExchange exchange, String document) throws IOException {
+        byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + document).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readAllBytes();
+            String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            return encoding != null && encoding.contains("aws-chunked") ? decodeChunks(body) : body;
+        }
+    }
+
+    // The SDK signs payloads sent over plain HTTP as "<hex size>;chunk-signature=...\r\n<data>\r\n" chunks
+    private static byte[] decodeChunks(byte[] body) {
+        ByteArrayOutputStream data = new ByteArrayOutputStream(body.length);
+        int position = 0;
+        while (position < body.length) {
+            int lineEnd = indexOfCrlf(body, position);
+            String header = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int separator = header.indexOf(';');
+            int size = Integer.parseInt(separator < 0 ? header.trim() : header.substring(0, separator), 16);
+            if (size == 0) {
+                break;
+            }
+            data.write(body, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return data.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] body, int from) {
+        for (int i = from; i < body.length - 1; i++) {
+            if (body[i] == '\r' && body[i + 1] == '\n') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Malformed aws-chunked body");
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+            query.put(name, separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String etag(byte[] data) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data)) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record StoredObject(byte[] data, Instant lastModified) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.ats.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the store against {@link InProcessS3}.
+ */
+class S3ResumeStoreTest {
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    private InProcessS3 s3;
+    private S3ResumeStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = InProcessS3.start();
+        store = new S3ResumeStore();
+        ReflectionTestUtils.setField(store, "bucket", "resumes");
+        ReflectionTestUtils.setField(store, "prefix", "cv/");
+        ReflectionTestUtils.setField(store, "endpoint", s3.endpoint().toString());
+        ReflectionTestUtils.setField(store, "region", "us-east-1");
+        ReflectionTestUtils.setField(store, "accessKey", "test");
+        ReflectionTestUtils.setField(store, "secretKey", "test");
+        ReflectionTestUtils.setField(store, "pathStyle", true);
+        ReflectionTestUtils.setField(store, "partSize", DataSize.ofBytes(PART_SIZE));
+        store.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+        s3.close();
+    }
+
+    @Test
+    void smallResumeIsWrittenWithOnePut() throws IOException {
+        byte[] resume = bytes(1000);
+
+        try (StagedResume staged = store.stage(new ByteArrayInputStream(resume))) {
+            assertThat(s3.objectCount()).isZero();
+            staged.publish("small.pdf");
+        }
+
+        assertThat(s3.keys()).containsExactly("cv/small.pdf");
+        assertThat(s3.content("cv/small.pdf")).isEqualTo(resume);
+        assertThat(store.find("small.pdf").size()).isEqualTo(1000);
+    }
+
+    @Test
+    void largeResumeIsUploadedInPartsAndCopiedIntoPlace() throws IOException {
+        // Two full parts and a short last one
+        byte[] resume = bytes(2 * PART_SIZE + 123);
+
+        try (StagedResume staged = store.stage(new ByteArrayInputStream(resume))) {
+            assertThat(s3.keys()).singleElement().asString().startsWith("cv/.incoming/");
+            staged.publish("large.pdf");
+        }
+
+        // The staging key is gone once the handle is closed
+        assertThat(s3.keys()).containsExactly("cv/large.pdf");
+        assertThat(s3.content("cv/large.pdf")).isEqualTo(resume);
+        assertThat(s3.openUploads()).isZero();
+    }
+
+    @Test
+    void failedReadAbortsTheMultipartUpload() {
+        InputStream broken = new SequenceInputStream(new ByteArrayInputStream(bytes(PART_SIZE + 10)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset");
+                    }
+                });
+
+        assertThatThrownBy(() -> store.stage(broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Connection reset");
+
+        assertThat(s3.openUploads()).isZero();
+        assertThat(s3.objectCount()).isZero();
+    }
+
+    @Test
+    void rejectedPartAbortsTheMultipartUpload() {
+        s3.failPart(2);
+
+        assertThatThrownBy(() -> store.stage(new ByteArrayInputStream(bytes(2 * PART_SIZE))))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Could not upload");
+
+        assertThat(s3.openUploads()).isZero();
+        assertThat(s3.objectCount()).isZero();
+    }
+
+    @Test
+    void rangesAreReadInclusive() throws IOException {
+        byte[] resume = bytes(100);
+        try (StagedResume staged = store.stage(new ByteArrayInputStream(resume))) {
+            staged.publish("ranged.pdf");
+        }
+
+        try (InputStream in = store.open("ranged.pdf", 10, 19)) {
+            assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(resume, 10, 20));
+        }
+        try (InputStream in = store.open("ranged.pdf", 99, 99)) {
+            assertThat(in.readAllBytes()).containsExactly(resume[99]);
+        }
+        // S3 cuts a range that runs past the end short
+        try (InputStream in = store.open("ranged.pdf", 90, 200)) {
+            assertThat(in.readAllBytes()).hasSize(10);
+        }
+    }
+
+    @Test
+    void missingNamesAreNotFoundAndDeleteIsIdempotent() throws IOException {
+        try (StagedResume staged = store.stage(new ByteArrayInputStream(bytes(10)))) {
+            staged.publish("gone.pdf");
+        }
+
+        store.delete("gone.pdf");
+        store.delete("gone.pdf");
+
+        assertThat(store.find("gone.pdf")).isNull();
+        assertThat(s3.objectCount()).isZero();
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
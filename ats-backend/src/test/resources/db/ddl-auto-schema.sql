@@ -0,0 +1,9 @@
+-- The DDL Hibernate's ddl-auto=update ran on an empty PostgreSQL database
+-- before the schema moved to Flyway, as logged by org.hibernate.SQL.
+create table applications (id bigint generated by default as identity, candidate_email varchar(255) not null, candidate_name varchar(255) not null, resume_original_name varchar(255), resume_path varchar(255), status varchar(255) check ((status in ('NEW','SHORTLISTED','INTERVIEWED','REJECTED','HIRED'))), submitted_at timestamp(6), job_id bigint not null, primary key (id));
+create table jobs (id bigint generated by default as identity, active boolean, created_at timestamp(6), description TEXT, title varchar(255) not null, created_by bigint, primary key (id));
+create table users (id bigint generated by default as identity, created_at timestamp(6), email varchar(255) not null, full_name varchar(255) not null, password varchar(255) not null, role varchar(255) check ((role in ('RECRUITER','ADMIN'))), primary key (id));
+alter table if exists users drop constraint if exists UK6dotkott2kjsp8vw4d0m25fb7;
+alter table if exists users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table if exists applications add constraint FK65weib1lru9dkrbto5pv389vi foreign key (job_id) references jobs;
+alter table if exists jobs add constraint FKag1hj06pxsv6fexoubroe6mn4 foreign key (created_by) references users;
@@ -0,0 +1,100 @@
+import api from './axios';
+
+const RECONNECT_DELAY_MS = 3000;
+// A backlog burst (bulk import) can produce several resyncs in a row; reload once
+const RESYNC_DELAY_MS = 1000;
+
+/**
+ * Subscribes to the server's change feed (GET /api/events, Server-Sent
+ * Events). EventSource cannot send the Authorization header, so the stream is
+ * read with fetch. `handlers` maps event names (application-submitted,
+ * application-status-changed, application-statuses-changed, job-created,
+ * job-updated, job-deleted, resync) to callbacks taking the parsed payload.
+ * After a dropped connection it reconnects with Last-Event-ID, and the server
+ * answers with `resync` if anything was missed. Returns a function that closes
+ * the stream.
+ */
+export const subscribeToChanges = (handlers) => {
+    const controller = new AbortController();
+    let lastEventId = null;
+    let resyncTimer = null;
+
+    const dispatch = (block) => {
+        let type = 'message';
+        let data = '';
+        block.split('\n').forEach((line) => {
+            if (!line || line.startsWith(':')) {
+                return;
+            }
+            const separator = line.indexOf(':');
+            const field = separator === -1 ? line : line.slice(0, separator);
+            const value = separator === -1 ? '' : line.slice(separator + 1).replace(/^ /, '');
+            if (field === 'event') {
+                type = value;
+            } else if (field === 'data') {
+                data = data ? `${data}\n${value}` : value;
+            } else if (field === 'id') {
+                lastEventId = value;
+            }
+        });
+        if (type === 'resync') {
+            if (!resyncTimer && handlers.resync) {
+                resyncTimer = setTimeout(() => {
+                    resyncTimer = null;
+                    handlers.resync();
+                }, RESYNC_DELAY_MS);
+            }
+        } else if (handlers[type]) {
+            handlers[type](data ? JSON.parse(data) : null);
+        }
+    };
+
+    const connect = async () => {
+        while (!controller.signal.aborted) {
+            try {
+                const headers = { Accept: 'text/event-stream' };
+                const token = localStorage.getItem('token');
+                if (token) {
+                    headers.Authorization = `Bearer ${token}`;
+                }
+                if (lastEventId !== null) {
+                    headers['Last-Event-ID'] = lastEventId;
+                }
+                const response = await fetch(`${api.defaults.baseURL}/events`, {
+                    headers,
+                    signal: controller.signal,
+                });
+                if (response.status === 401 || response.status === 403) {
+                    return;
+                }
+                if (response.ok) {
+                    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                    let buffer = '';
+                    for (;;) {
+                        const { value, done } = await reader.read();
+                        if (done) {
+                            break;
+                        }
+                        buffer += value.replace(/\r\n?/g, '\n');
+                        let end;
+                        while ((end = buffer.indexOf('\n\n')) !== -1) {
+                            dispatch(buffer.slice(0, end));
+                            buffer = buffer.slice(end + 2);
+                        }
+                    }
+                }
+            } catch (error) {
+                if (controller.signal.aborted) {
+                    return;
+                }
+            }
+            await new Promise((resolve) => setTimeout(resolve, RECONNECT_DELAY_MS));
+        }
+    };
+
+    connect();
+    return () => {
+        clearTimeout(resyncTimer);
+        controller.abort();
+    };
+};
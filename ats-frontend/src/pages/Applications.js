@@ -1,24 +1,30 @@
-import React, { useState, useEffect, useCallback } from 'react';
+import React, { useState, useEffect, useCallback, useRef } from 'react';
 import api from '../api/axios';
+import { subscribeToChanges } from '../api/changeFeed';
 import Navbar from '../components/Navbar';
 import StatusBadge from '../components/StatusBadge';
 import SearchBar from '../components/SearchBar';
 
 const Applications = () => {
     const [applications, setApplications] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [jobs, setJobs] = useState([]);
     const [loading, setLoading] = useState(true);
     const [searchQuery, setSearchQuery] = useState('');
     const [filterJob, setFilterJob] = useState('');
     const [filterStatus, setFilterStatus] = useState('');
+    const [newArrivals, setNewArrivals] = useState(0);
+    const reloadRef = useRef(null);
 
     const fetchData = useCallback(async () => {
+        setNewArrivals(0);
         try {
             const [appsRes, jobsRes] = await Promise.all([
                 api.get('/applications'),
                 api.get('/jobs')
             ]);
-            setApplications(appsRes.data);
+            setApplications(appsRes.data.items);
+            setNextCursor(appsRes.data.nextCursor);
             setJobs(jobsRes.data);
         } catch (error) {
             console.error('Error fetching data:', error);
@@ -34,9 +40,11 @@ const Applications = () => {
         }
 
         setLoading(true);
+        setNewArrivals(0);
         try {
             const response = await api.get(`/applications/search?query=${encodeURIComponent(searchQuery)}`);
-            setApplications(response.data);
+            setApplications(response.data.items);
+            setNextCursor(response.data.nextCursor);
         } catch (error) {
             console.error('Error searching:', error);
         } finally {
@@ -46,13 +54,15 @@ const Applications = () => {
 
     const handleFilter = useCallback(async () => {
         setLoading(true);
+        setNewArrivals(0);
         try {
             const params = new URLSearchParams();
             if (filterJob) params.append('jobId', filterJob);
             if (filterStatus) params.append('status', filterStatus);
 
             const response = await api.get(`/applications?${params.toString()}`);
-            setApplications(response.data);
+            setApplications(response.data.items);
+            setNextCursor(response.data.nextCursor);
         } catch (error) {
             console.error('Error filtering:', error);
         } finally {
@@ -81,6 +91,51 @@ const Applications = () => {
         return () => clearTimeout(delaySearch);
     }, [searchQuery, handleSearch]);
 
+    // Reloads whatever is on screen: search results, a filtered list or everything
+    reloadRef.current = () => {
+        if (searchQuery) {
+            handleSearch();
+        } else if (filterJob || filterStatus) {
+            handleFilter();
+        } else {
+            fetchData();
+        }
+    };
+
+    // One stream for the page's lifetime; handlers reach the current view through the ref
+    useEffect(() => subscribeToChanges({
+        'application-submitted': () => setNewArrivals((count) => count + 1),
+        'application-status-changed': (change) => {
+            setApplications((prev) => prev.map((app) =>
+                app.id === change.applicationId ? { ...app, status: change.status } : app
+            ));
+        },
+        'application-statuses-changed': () => reloadRef.current(),
+        'job-deleted': () => reloadRef.current(),
+        resync: () => reloadRef.current(),
+    }), []);
+
+    const loadMore = async () => {
+        try {
+            const params = new URLSearchParams();
+            let path = '/applications';
+            if (searchQuery) {
+                path = '/applications/search';
+                params.append('query', searchQuery);
+            } else {
+                if (filterJob) params.append('jobId', filterJob);
+                if (filterStatus) params.append('status', filterStatus);
+            }
+            params.append('cursor', nextCursor);
+
+            const response = await api.get(`${path}?${params.toString()}`);
+            setApplications([...applications, ...response.data.items]);
+            setNextCursor(response.data.nextCursor);
+        } catch (error) {
+            console.error('Error loading more applications:', error);
+        }
+    };
+
     const updateStatus = async (applicationId, newStatus) => {
         try {
             await api.put(`/applications/${applicationId}/status`, { status: newStatus });
@@ -117,7 +172,7 @@ const Applications = () => {
                 <div className="page-header">
                     <h1 className="page-title">📄 All Applications</h1>
                     <span style={{ color: 'var(--text-muted)' }}>
-                        {applications.length} application{applications.length !== 1 ? 's' : ''}
+                        {applications.length}{nextCursor ? '+' : ''} application{applications.length !== 1 ? 's' : ''}
                     </span>
                 </div>
 
@@ -165,6 +220,14 @@ const Applications = () => {
                     </div>
                 </div>
 
+                {newArrivals > 0 && (
+                    <div className="card" style={{ marginBottom: '1rem', textAlign: 'center' }}>
+                        <button className="btn btn-secondary btn-sm" onClick={() => reloadRef.current()}>
+                            🔔 {newArrivals} new application{newArrivals !== 1 ? 's' : ''}, show
+                        </button>
+                    </div>
+                )}
+
                 {/* Applications List */}
                 {applications.length === 0 ? (
                     <div className="card">
@@ -248,6 +311,13 @@ const Applications = () => {
                                 </tbody>
                             </table>
                         </div>
+                        {nextCursor && (
+                            <div style={{ textAlign: 'center', marginTop: '1rem' }}>
+                                <button className="btn btn-secondary" onClick={loadMore}>
+                                    Load more
+                                </button>
+                            </div>
+                        )}
                     </div>
                 )}
             </main>
@@ -1,9 +1,22 @@
 import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
 import api from '../api/axios';
+import { subscribeToChanges } from '../api/changeFeed';
 import Navbar from '../components/Navbar';
 import StatusBadge from '../components/StatusBadge';
 
+// Applies per-status count deltas to the dashboard statistics
+const adjustCounts = (stats, deltas, totalDelta = 0) => {
+    if (!stats) {
+        return stats;
+    }
+    const applicationsByStatus = { ...stats.applicationsByStatus };
+    Object.entries(deltas).forEach(([status, delta]) => {
+        applicationsByStatus[status] = (applicationsByStatus[status] || 0) + delta;
+    });
+    return { ...stats, applicationsByStatus, totalApplications: stats.totalApplications + totalDelta };
+};
+
 const Dashboard = () => {
     const [stats, setStats] = useState(null);
     const [recentApplications, setRecentApplications] = useState([]);
@@ -11,16 +24,42 @@ const Dashboard = () => {
 
     useEffect(() => {
         fetchDashboardData();
+        // Live updates instead of polling; anything not applied locally is re-fetched
+        return subscribeToChanges({
+            'application-submitted': (change) => {
+                setStats((prev) => adjustCounts(prev, { [change.status]: 1 }, 1));
+                setRecentApplications((prev) => [{
+                    id: change.applicationId,
+                    candidateName: change.candidateName,
+                    candidateEmail: change.candidateEmail,
+                    jobId: change.jobId,
+                    jobTitle: change.jobTitle,
+                    status: change.status,
+                    submittedAt: change.submittedAt,
+                }, ...prev].slice(0, 5));
+            },
+            'application-status-changed': (change) => {
+                setStats((prev) => adjustCounts(prev, { [change.previousStatus]: -1, [change.status]: 1 }));
+                setRecentApplications((prev) => prev.map((app) =>
+                    app.id === change.applicationId ? { ...app, status: change.status } : app
+                ));
+            },
+            'application-statuses-changed': fetchDashboardData,
+            'job-created': fetchDashboardData,
+            'job-updated': fetchDashboardData,
+            'job-deleted': fetchDashboardData,
+            resync: fetchDashboardData,
+        });
     }, []);
 
     const fetchDashboardData = async () => {
         try {
             const [statsRes, applicationsRes] = await Promise.all([
                 api.get('/applications/stats'),
-                api.get('/applications')
+                api.get('/applications?size=5')
             ]);
             setStats(statsRes.data);
-            setRecentApplications(applicationsRes.data.slice(0, 5));
+            setRecentApplications(applicationsRes.data.items);
         } catch (error) {
             console.error('Error fetching dashboard data:', error);
         } finally {
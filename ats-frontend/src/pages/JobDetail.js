@@ -8,6 +8,7 @@ const JobDetail = () => {
     const { id } = useParams();
     const [job, setJob] = useState(null);
     const [applications, setApplications] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
 
     useEffect(() => {
@@ -18,7 +19,8 @@ const JobDetail = () => {
                     api.get(`/applications?jobId=${id}`)
                 ]);
                 setJob(jobRes.data);
-                setApplications(appsRes.data);
+                setApplications(appsRes.data.items);
+                setNextCursor(appsRes.data.nextCursor);
             } catch (error) {
                 console.error('Error fetching job data:', error);
             } finally {
@@ -29,6 +31,16 @@ const JobDetail = () => {
         fetchData();
     }, [id]);
 
+    const loadMore = async () => {
+        try {
+            const response = await api.get(`/applications?jobId=${id}&cursor=${encodeURIComponent(nextCursor)}`);
+            setApplications([...applications, ...response.data.items]);
+            setNextCursor(response.data.nextCursor);
+        } catch (error) {
+            console.error('Error loading more applications:', error);
+        }
+    };
+
     const updateStatus = async (applicationId, newStatus) => {
         try {
             await api.put(`/applications/${applicationId}/status`, { status: newStatus });
@@ -116,7 +128,7 @@ const JobDetail = () => {
                 {/* Applications */}
                 <div className="card">
                     <div className="card-header">
-                        <h2 className="card-title">📄 Applications ({applications.length})</h2>
+                        <h2 className="card-title">📄 Applications ({job.applicationCount ?? applications.length})</h2>
                     </div>
 
                     {applications.length === 0 ? (
@@ -186,6 +198,13 @@ const JobDetail = () => {
                                     ))}
                                 </tbody>
                             </table>
+                            {nextCursor && (
+                                <div style={{ textAlign: 'center', marginTop: '1rem' }}>
+                                    <button className="btn btn-secondary" onClick={loadMore}>
+                                        Load more
+                                    </button>
+                                </div>
+                            )}
                         </div>
                     )}
                 </div>